@@ -0,0 +1,76 @@
+#!/usr/bin/env python3
+"""Compare two JMH JSON result files (java -jar target/benchmarks.jar -rf json -rff FILE).
+
+usage: compare.py BASELINE.json CANDIDATE.json [--threshold PCT]
+
+A benchmark counts as a regression when it is slower by more than the
+threshold (default 10%) and the two error intervals do not overlap, so
+noise alone does not fail the comparison. Exits 1 when any benchmark
+regressed, which makes the script usable as a CI gate.
+"""
+import argparse
+import json
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        results = {}
+        for run in json.load(f):
+            params = ",".join(f"{k}={v}" for k, v in sorted((run.get("params") or {}).items()))
+            name = run["benchmark"].rsplit(".", 2)
+            key = ".".join(name[-2:]) + (f" [{params}]" if params else "")
+            metric = run["primaryMetric"]
+            error = metric.get("scoreError")
+            results[key] = {
+                "mode": run["mode"],
+                "score": metric["score"],
+                # NaN when there was a single iteration
+                "error": error if isinstance(error, (int, float)) and error == error else 0.0,
+                "unit": metric["scoreUnit"],
+            }
+        return results
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__.splitlines()[0])
+    parser.add_argument("baseline")
+    parser.add_argument("candidate")
+    parser.add_argument("--threshold", type=float, default=10.0, help="regression threshold in percent")
+    args = parser.parse_args()
+
+    base = load(args.baseline)
+    cand = load(args.candidate)
+    regressions = 0
+    width = max((len(k) for k in base.keys() | cand.keys()), default=10)
+    print(f"{'benchmark':<{width}}  {'baseline':>14}  {'candidate':>14}  {'change':>8}  unit")
+    for key in sorted(base.keys() | cand.keys()):
+        if key not in base or key not in cand:
+            side = "candidate only" if key in cand else "baseline only"
+            print(f"{key:<{width}}  {side}")
+            continue
+        b, c = base[key], cand[key]
+        if b["unit"] != c["unit"] or b["score"] == 0:
+            print(f"{key:<{width}}  not comparable ({b['unit']} vs {c['unit']})")
+            continue
+        # Throughput is better when higher, every other mode when lower
+        higher_is_better = b["mode"] == "thrpt"
+        change = (c["score"] - b["score"]) / b["score"] * 100.0
+        worse = -change if higher_is_better else change
+        separated = abs(c["score"] - b["score"]) > b["error"] + c["error"]
+        flag = ""
+        if worse > args.threshold and separated:
+            flag = "  REGRESSION"
+            regressions += 1
+        elif worse < -args.threshold and separated:
+            flag = "  improved"
+        print(f"{key:<{width}}  {b['score']:>14.3f}  {c['score']:>14.3f}  {change:>+7.1f}%  {b['unit']}{flag}")
+
+    if regressions:
+        print(f"\n{regressions} benchmark(s) regressed by more than {args.threshold:g}%")
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
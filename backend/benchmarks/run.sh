@@ -0,0 +1,14 @@
+#!/usr/bin/env bash
+# Builds the benchmarks and runs them, writing results/<commit>.json for compare.py.
+# Extra arguments go to JMH, e.g. ./run.sh JwtService -f 1 -wi 2 -i 3
+set -euo pipefail
+cd "$(dirname "$0")"
+(cd .. && mvn -B -q install -DskipTests)
+mvn -B -q package
+commit=$(git rev-parse --short HEAD)
+if ! git diff --quiet HEAD -- ..; then
+    commit="$commit-dirty"
+fi
+mkdir -p results
+java -jar target/benchmarks.jar -rf json -rff "results/$commit.json" "$@"
+echo "Results written to results/$commit.json"
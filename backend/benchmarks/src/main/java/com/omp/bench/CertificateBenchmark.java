@@ -0,0 +1,69 @@
+package com.omp.bench;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.omp.entity.Course;
+import com.omp.entity.Enrollment;
+import com.omp.entity.User;
+import com.omp.service.CertificateService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Certificate download cost: {@code renderAndEncode} is the full
+ * CertificateService call, {@code encodeOnly} the PNG encoding of an
+ * already rendered certificate; the difference is the Java2D rendering.
+ * The course has no mentor so no repository is touched.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CertificateBenchmark {
+    private CertificateService certificateService;
+    private User user;
+    private Course course;
+    private Enrollment enrollment;
+    private BufferedImage rendered;
+
+    @Setup
+    public void setup() throws IOException {
+        certificateService = new CertificateService(null, null, null, new SimpleMeterRegistry());
+        user = User.builder().id("u1").name("Aarav Sharma").email("aarav@example.com").build();
+        course = Course.builder().id("c1").title("Spring Boot Microservices in Practice").build();
+        enrollment = Enrollment.builder().id("e1").userId("u1").courseId("c1").build();
+        byte[] png = certificateService.generateCertificateBytes(user, course, enrollment);
+        rendered = ImageIO.read(new ByteArrayInputStream(png));
+    }
+
+    @Benchmark
+    public byte[] renderAndEncode() {
+        return certificateService.generateCertificateBytes(user, course, enrollment);
+    }
+
+    @Benchmark
+    public byte[] encodeOnly() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(rendered, "PNG", out);
+        return out.toByteArray();
+    }
+}
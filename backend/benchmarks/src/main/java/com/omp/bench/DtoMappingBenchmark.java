@@ -0,0 +1,86 @@
+package com.omp.bench;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.omp.dto.CourseDTO;
+import com.omp.dto.MentorDTO;
+import com.omp.entity.Course;
+import com.omp.entity.Mentor;
+import com.omp.entity.User;
+import com.omp.repository.CourseRepository;
+import com.omp.repository.EnrollmentRepository;
+import com.omp.repository.MentorRepository;
+import com.omp.repository.ModuleRepository;
+import com.omp.repository.UserRepository;
+import com.omp.service.CourseService;
+import com.omp.service.MentorService;
+
+/**
+ * Entity-to-DTO mapping behind the public course and mentor lists, run
+ * against in-memory repositories. Both services look up related documents
+ * per row, so with Mongo each lookup is also a round trip; here only the
+ * CPU side is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+    @Param({ "100", "1000" })
+    public int courses;
+
+    private CourseService courseService;
+    private MentorService mentorService;
+
+    @Setup
+    public void setup() {
+        Fixtures data = new Fixtures(courses);
+        Map<String, User> users = Fixtures.byId(data.users, User::getId);
+        Map<String, Mentor> mentors = Fixtures.byId(data.mentors, Mentor::getId);
+        Map<String, List<Course>> byMentor = data.courses.stream()
+                .collect(Collectors.groupingBy(Course::getMentorId));
+
+        CourseRepository courseRepository = Fixtures.repository(CourseRepository.class, Map.of(
+                "findAll", args -> data.courses,
+                "findByMentorId", args -> byMentor.getOrDefault((String) args[0], List.of()),
+                "countByMentorId", args -> (long) byMentor.getOrDefault((String) args[0], List.of()).size()));
+        MentorRepository mentorRepository = Fixtures.repository(MentorRepository.class, Map.of(
+                "findAll", args -> data.mentors,
+                "findById", Fixtures.findById(mentors)));
+        UserRepository userRepository = Fixtures.repository(UserRepository.class, Map.of(
+                "findById", Fixtures.findById(users)));
+        EnrollmentRepository enrollmentRepository = Fixtures.repository(EnrollmentRepository.class, Map.of(
+                "findAll", args -> data.enrollments));
+        ModuleRepository moduleRepository = Fixtures.repository(ModuleRepository.class, Map.of());
+
+        courseService = new CourseService(courseRepository, moduleRepository, mentorRepository, userRepository);
+        mentorService = new MentorService(mentorRepository, courseRepository, enrollmentRepository);
+    }
+
+    @Benchmark
+    public List<CourseDTO> courseList() {
+        return courseService.getAllCourses();
+    }
+
+    @Benchmark
+    public List<MentorDTO> mentorList() {
+        return mentorService.getAllMentors();
+    }
+}
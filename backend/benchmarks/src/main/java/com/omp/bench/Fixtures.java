@@ -0,0 +1,103 @@
+package com.omp.bench;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.util.ReflectionUtils;
+
+import com.omp.entity.Course;
+import com.omp.entity.Enrollment;
+import com.omp.entity.Mentor;
+import com.omp.entity.Role;
+import com.omp.entity.User;
+
+/**
+ * Deterministic catalog data for the benchmarks, and repositories backed by
+ * it. Repositories are dynamic proxies answering only the methods a
+ * benchmark needs, so mapping code runs without Mongo and what is measured
+ * is its CPU cost plus the number of lookups it makes.
+ */
+final class Fixtures {
+    final List<User> users = new ArrayList<>();
+    final List<Mentor> mentors = new ArrayList<>();
+    final List<Course> courses = new ArrayList<>();
+    final List<Enrollment> enrollments = new ArrayList<>();
+
+    // One mentor per ten courses, one student per course, three enrollments per student
+    Fixtures(int courseCount) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 9, 0);
+        int mentorCount = Math.max(1, courseCount / 10);
+        for (int i = 0; i < mentorCount; i++) {
+            users.add(User.builder().id("um" + i).name("Mentor " + i).email("mentor" + i + "@example.com")
+                    .role(Role.MENTOR).createdAt(now).build());
+            mentors.add(Mentor.builder().id("m" + i).userId("um" + i).expertise("Spring, MongoDB, React")
+                    .bio("Engineer and teacher with a decade of production experience.")
+                    .imageUrl("/uploads/mentor" + i + ".png").build());
+        }
+        for (int i = 0; i < courseCount; i++) {
+            courses.add(Course.builder().id("c" + i).title("Course " + i + ": Building Services")
+                    .description("Hands-on course covering design, testing and deployment of web services.")
+                    .price(499.0 + i % 7 * 100).imageUrl("/uploads/course" + i + ".png")
+                    .mentorId("m" + random.nextInt(mentorCount)).moduleCount(12).build());
+            users.add(User.builder().id("u" + i).name("Student " + i).email("student" + i + "@example.com")
+                    .role(Role.STUDENT).createdAt(now.plusMinutes(i)).build());
+        }
+        for (int i = 0; i < courseCount; i++) {
+            for (int k = 0; k < 3; k++) {
+                enrollments.add(Enrollment.builder().id("e" + i + "_" + k).userId("u" + i)
+                        .courseId("c" + random.nextInt(courseCount)).completedCount(0).percentComplete(0.0).build());
+            }
+        }
+    }
+
+    static <T> Map<String, T> byId(Collection<T> items, Function<T, String> id) {
+        return items.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    /**
+     * A repository whose methods are answered by {@code answers} (method name to
+     * implementation); anything else throws, so a benchmark notices when the
+     * code under test starts calling something new.
+     */
+    @SuppressWarnings("unchecked")
+    static <R> R repository(Class<R> type, Map<String, Function<Object[], Object>> answers) {
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        });
+    }
+
+    static <T> Function<Object[], Object> findById(Map<String, T> byId) {
+        return args -> Optional.ofNullable(byId.get((String) args[0]));
+    }
+
+    // Stands in for @Value injection on services built without Spring
+    static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalArgumentException(target.getClass().getSimpleName() + " has no field " + name);
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,101 @@
+package com.omp.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.dto.CourseDTO;
+import com.omp.dto.CursorPage;
+import com.omp.dto.MentorDTO;
+import com.omp.dto.UserDTO;
+
+/**
+ * Response body serialization of the list endpoints (/api/courses,
+ * /api/mentors, /api/admin/users and one admin keyset page), with an
+ * ObjectMapper configured the way Spring MVC builds its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    @Param({ "100", "1000" })
+    public int courses;
+
+    private ObjectMapper objectMapper;
+    private List<CourseDTO> courseList;
+    private List<MentorDTO> mentorList;
+    private List<UserDTO> userList;
+    private CursorPage<UserDTO> userPage;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Fixtures data = new Fixtures(courses);
+        courseList = data.courses.stream().map(c -> {
+            CourseDTO dto = new CourseDTO();
+            dto.setId(c.getId());
+            dto.setTitle(c.getTitle());
+            dto.setDescription(c.getDescription());
+            dto.setPrice(c.getPrice());
+            dto.setImageUrl(c.getImageUrl());
+            dto.setMentorId(c.getMentorId());
+            dto.setMentorName("Mentor " + c.getMentorId());
+            dto.setMentorImageUrl("/uploads/" + c.getMentorId() + ".png");
+            return dto;
+        }).collect(Collectors.toList());
+        mentorList = data.mentors.stream().map(m -> MentorDTO.builder().id(m.getId()).name("Mentor")
+                .email("mentor@example.com").bio(m.getBio()).imageUrl(m.getImageUrl()).expertise(m.getExpertise())
+                .coursesCount(10).studentsCount(30).experienceYears(5).build()).collect(Collectors.toList());
+        userList = data.users.stream().map(u -> {
+            UserDTO dto = new UserDTO();
+            dto.setId(u.getId());
+            dto.setName(u.getName());
+            dto.setEmail(u.getEmail());
+            dto.setRole(u.getRole());
+            dto.setCreatedAt(u.getCreatedAt());
+            dto.setActive(u.isActive());
+            return dto;
+        }).collect(Collectors.toList());
+        // Cursor of the shape Keyset issues: base64url of "field,dir,id,type,value"
+        userPage = new CursorPage<>(userList.subList(0, Math.min(50, userList.size())),
+                "bmFtZSwxLHU0OSxzLFN0dWRlbnQgNDk");
+    }
+
+    @Benchmark
+    public byte[] courseList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(courseList);
+    }
+
+    @Benchmark
+    public byte[] mentorList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mentorList);
+    }
+
+    @Benchmark
+    public byte[] userList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userList);
+    }
+
+    @Benchmark
+    public byte[] userPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userPage);
+    }
+}
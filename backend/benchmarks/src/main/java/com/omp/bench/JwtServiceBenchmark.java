@@ -0,0 +1,62 @@
+package com.omp.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.omp.entity.Role;
+import com.omp.entity.User;
+import com.omp.security.UserSnapshot;
+import com.omp.service.JwtService;
+
+/**
+ * Token issue and check as done on login and on every authenticated
+ * request by the JWT filter (parse, then compare subject and expiry).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+    private JwtService jwtService;
+    private UserSnapshot user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService();
+        Fixtures.setField(jwtService, "jwtSecret", "bench_secret_that_is_at_least_32_bytes_long");
+        Fixtures.setField(jwtService, "jwtExpirationMs", 18_000_000L);
+        Fixtures.setField(jwtService, "jwtRefreshExpirationMs", 604_800_000L);
+        user = UserSnapshot.of(User.builder().id("u1").name("Bench User").email("bench@example.com")
+                .role(Role.STUDENT).build());
+        token = jwtService.generateToken(user.getUsername(), Role.STUDENT);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user.getUsername(), Role.STUDENT);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    // What the filter does per request
+    @Benchmark
+    public boolean verifyToken() {
+        return jwtService.extractUsername(token) != null && jwtService.isTokenValid(token, user);
+    }
+}
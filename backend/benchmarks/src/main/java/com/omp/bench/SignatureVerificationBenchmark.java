@@ -0,0 +1,99 @@
+package com.omp.bench;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import com.omp.config.RazorpayProperties;
+import com.omp.security.HmacSignatureVerifier;
+import com.omp.service.RazorpayService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Per-call cost of Razorpay signature checks: the original per-call
+ * Mac/String.format implementation against {@link HmacSignatureVerifier},
+ * and RazorpayService.verifySignature as the checkout endpoint calls it.
+ * Run with {@code -prof gc} to see allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureVerificationBenchmark {
+    private static final String SECRET = "bench_key_secret_0123456789";
+
+    private final String orderId = "order_N5QKpXl4Zx1b2c";
+    private final String paymentId = "pay_N5QKvY2w3LmN8q";
+    private String signature;
+    private byte[] webhookBody;
+    private String webhookSignature;
+    private HmacSignatureVerifier verifier;
+    private RazorpayService razorpayService;
+
+    @Setup
+    public void setup() throws Exception {
+        verifier = new HmacSignatureVerifier(SECRET);
+        RazorpayProperties properties = new RazorpayProperties();
+        properties.setKeySecret(SECRET);
+        razorpayService = new RazorpayService(properties, new SimpleMeterRegistry());
+        // The @PostConstruct that keys the verifiers once
+        Method init = ReflectionUtils.findMethod(RazorpayService.class, "initVerifiers");
+        ReflectionUtils.makeAccessible(init);
+        ReflectionUtils.invokeMethod(init, razorpayService);
+        signature = legacyHex(orderId + '|' + paymentId);
+        webhookBody = ("{\"event\":\"payment.captured\",\"payload\":{\"payment\":{\"entity\":{\"id\":\""
+                + paymentId + "\",\"order_id\":\"" + orderId + "\",\"status\":\"captured\"}}}}")
+                .getBytes(StandardCharsets.UTF_8);
+        webhookSignature = legacyHex(new String(webhookBody, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public boolean legacyVerify() throws Exception {
+        return legacyHex(orderId + '|' + paymentId).equalsIgnoreCase(signature);
+    }
+
+    @Benchmark
+    public boolean verifier() {
+        return verifier.verify(orderId, paymentId, signature);
+    }
+
+    @Benchmark
+    public boolean razorpayService() {
+        return razorpayService.verifySignature(orderId, paymentId, signature);
+    }
+
+    @Benchmark
+    public boolean verifierWebhookBody() {
+        return verifier.verify(webhookBody, webhookSignature);
+    }
+
+    // The implementation RazorpayService used before the verifier
+    private static String legacyHex(String data) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] hmac = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        StringBuilder sb = new StringBuilder();
+        for (byte b : hmac) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,118 @@
+package com.omp.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.omp.search.Suggester;
+
+/**
+ * Typeahead lookups against a synthetic catalog of {@code courses} titles
+ * plus one mentor per ten courses, next to the linear scan a lookup would
+ * otherwise be. {@code put} is the cost of one title change (a merge into
+ * a new snapshot), {@code rebuild} that of indexing the whole catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuggesterBenchmark {
+    private static final String[] WORDS = ("java spring boot python machine learning data science react javascript "
+            + "web development cloud aws docker kubernetes design patterns algorithms database mongodb sql security "
+            + "devops testing microservices android kotlin swift rust golang analytics statistics deep neural vision "
+            + "finance marketing product management leadership photography music guitar piano drawing writing")
+            .split(" ");
+    private static final String[] NAMES = ("aarav priya rohan ananya vikram meera arjun kavya rahul sneha "
+            + "john maria david sara li wei carlos elena").split(" ");
+
+    @Param({ "1000", "30000" })
+    public int courses;
+
+    private Suggester suggester;
+    private List<Suggester.Suggestion> all;
+    private int writes;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        all = new ArrayList<>();
+        for (int i = 0; i < courses; i++) {
+            StringBuilder title = new StringBuilder();
+            int words = 2 + random.nextInt(4);
+            for (int w = 0; w < words; w++) {
+                title.append(w == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            title.append(' ').append(i);
+            all.add(new Suggester.Suggestion("course", "c" + i, title.toString(), 1.0f));
+            if (i % 10 == 0) {
+                String name = NAMES[random.nextInt(NAMES.length)] + " " + NAMES[random.nextInt(NAMES.length)];
+                all.add(new Suggester.Suggestion("mentor", "m" + i, name, 1.0f));
+            }
+        }
+        suggester = new Suggester();
+        suggester.replaceAll(all);
+    }
+
+    @Benchmark
+    public List<Suggester.Suggestion> oneLetter() {
+        return suggester.suggest("m", 8);
+    }
+
+    @Benchmark
+    public List<Suggester.Suggestion> twoWords() {
+        return suggester.suggest("machine le", 8);
+    }
+
+    @Benchmark
+    public List<Suggester.Suggestion> noMatch() {
+        return suggester.suggest("zzq", 8);
+    }
+
+    // What a lookup costs without the index (first 8 matches, unranked, so a lower bound)
+    @Benchmark
+    public List<Suggester.Suggestion> linearScan() {
+        List<Suggester.Suggestion> out = new ArrayList<>(8);
+        for (Suggester.Suggestion s : all) {
+            String label = s.getLabel().toLowerCase();
+            if (label.startsWith("machine le") || label.contains(" machine le")) {
+                out.add(s);
+                if (out.size() == 8) {
+                    break;
+                }
+            }
+        }
+        return out;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Suggester put() {
+        // Alternate titles so every call really changes the entry
+        String title = (writes++ & 1) == 0 ? "Spring Boot in Practice" : "Kotlin for Spring Developers";
+        suggester.put(new Suggester.Suggestion("course", "c0", title, 1.0f));
+        return suggester;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Suggester rebuild() {
+        Suggester fresh = new Suggester();
+        fresh.replaceAll(all);
+        return fresh;
+    }
+}
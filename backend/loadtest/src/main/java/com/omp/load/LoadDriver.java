@@ -0,0 +1,123 @@
+package com.omp.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Closed-loop load: {@code concurrency} workers each send the next request
+ * as soon as the previous one answered, for a fixed time. Latencies of the
+ * measured phase are kept in full, so percentiles are exact rather than
+ * bucketed. Workers are virtual threads, so the driver can hold thousands
+ * of connections open without adding to the platform threads the server
+ * is measured on.
+ */
+public class LoadDriver {
+    private final HttpClient client;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+
+    public LoadDriver(int concurrency, Duration warmup, Duration duration) {
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /** Builds one request; each worker has its own random source. */
+    public record Scenario(String name, Function<Random, HttpRequest> request) {
+    }
+
+    public record Result(String name, long requests, long errors, double seconds, long p50, long p95, long p99,
+            long max) {
+        public double throughput() {
+            return requests / seconds;
+        }
+    }
+
+    public Result run(Scenario scenario) throws Exception {
+        drive(scenario, warmup, false);
+        return drive(scenario, duration, true);
+    }
+
+    // Blocking send, for logins and other setup calls
+    public HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Result drive(Scenario scenario, Duration length, boolean record) throws Exception {
+        ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+        long started = System.nanoTime();
+        long deadline = started + length.toNanos();
+        List<Future<long[]>> futures = new ArrayList<>();
+        long[] errors = new long[concurrency];
+        for (int w = 0; w < concurrency; w++) {
+            int worker = w;
+            futures.add(workers.submit(() -> {
+                Random random = new Random(31L * worker + scenario.name().hashCode());
+                long[] latencies = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = scenario.request().apply(random);
+                    long sent = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    long took = System.nanoTime() - sent;
+                    if (status < 200 || status >= 300) {
+                        errors[worker]++;
+                    }
+                    if (record) {
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = took;
+                    }
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+        List<long[]> parts = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            parts.add(future.get());
+        }
+        workers.shutdown();
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        long[] all = new long[parts.stream().mapToInt(p -> p.length).sum()];
+        int at = 0;
+        for (long[] part : parts) {
+            System.arraycopy(part, 0, all, at, part.length);
+            at += part.length;
+        }
+        Arrays.sort(all);
+        return new Result(scenario.name(), all.length, Arrays.stream(errors).sum(), seconds,
+                percentile(all, 50), percentile(all, 95), percentile(all, 99),
+                all.length == 0 ? 0 : all[all.length - 1]);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
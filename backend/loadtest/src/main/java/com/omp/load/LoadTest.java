@@ -0,0 +1,341 @@
+package com.omp.load;
+
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.omp.BackendApplication;
+import com.omp.load.LoadDriver.Result;
+import com.omp.load.LoadDriver.Scenario;
+import com.omp.load.SyntheticDataGenerator.Dataset;
+import com.omp.load.SyntheticDataGenerator.SampleStudent;
+import com.omp.load.SyntheticDataGenerator.Scale;
+
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+
+/**
+ * Reproducible end-to-end baseline: generates a dataset, boots the backend
+ * against it on a random port and drives each endpoint scenario in turn,
+ * printing throughput and latency percentiles.
+ *
+ * <pre>
+ * java -jar target/loadtest.jar -scale=100k -concurrency=32 -duration=30 -report=baseline.csv
+ * java -jar target/loadtest.jar -threads=virtual -tomcat-threads=50 -concurrency=25,50,200,800
+ * </pre>
+ *
+ * Options (all optional): {@code -scale} enrollments (10k, 100k, 1m...),
+ * {@code -mongo-uri} an existing server instead of an embedded mongod (the
+ * data always goes to a {@code loadtest_<enrollments>} database there),
+ * {@code -concurrency} one or more comma-separated worker counts,
+ * {@code -warmup} and {@code -duration} in seconds, {@code -only}
+ * comma-separated scenario names, {@code -seed}, {@code -report} a CSV
+ * file, {@code -threads} {@code platform} or {@code virtual} request
+ * threads and {@code -tomcat-threads} the platform request pool size.
+ * Besides latency, each run reports the peak open connections and live
+ * platform threads of the JVM, which the two thread modes are compared on.
+ */
+public class LoadTest {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        Scale scale = Scale.parse(options.getOrDefault("scale", "10k"));
+        List<Integer> levels = Arrays.stream(options.getOrDefault("concurrency", "16").split(","))
+                .map(String::trim).map(Integer::parseInt).toList();
+        String threads = options.getOrDefault("threads", "platform");
+        if (!threads.equals("platform") && !threads.equals("virtual")) {
+            throw new IllegalArgumentException("-threads is platform or virtual, got " + threads);
+        }
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "20")));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        String database = "loadtest_" + scale.enrollments();
+
+        TransitionWalker.ReachedState<RunningMongodProcess> embedded = null;
+        String mongoUri = options.get("mongo-uri");
+        if (mongoUri == null) {
+            log("Starting embedded mongod (downloaded on first use)");
+            embedded = Mongod.instance().start(Version.Main.V7_0);
+            ServerAddress address = embedded.current().getServerAddress();
+            mongoUri = "mongodb://" + address.getHost() + ":" + address.getPort();
+        }
+        String databaseUri = withDatabase(mongoUri, database);
+
+        ConfigurableApplicationContext app = null;
+        try (MongoClient client = MongoClients.create(databaseUri)) {
+            log("Generating %d enrollments, %d students, %d courses, %d mentors into %s", scale.enrollments(),
+                    scale.students(), scale.courses(), scale.mentors(), database);
+            long started = System.currentTimeMillis();
+            Dataset dataset = new SyntheticDataGenerator(new MongoTemplate(client, database), seed).generate(scale);
+            log("Generated in %.1f s", (System.currentTimeMillis() - started) / 1000.0);
+
+            // Command-line arguments, so they win over application.properties and the environment
+            List<String> backendArgs = new ArrayList<>(List.of(
+                    "--spring.data.mongodb.uri=" + databaseUri,
+                    "--server.port=0",
+                    "--spring.main.banner-mode=off",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.omp=WARN",
+                    "--logging.level.com.omp.access=WARN",
+                    "--spring.threads.virtual.enabled=" + threads.equals("virtual"),
+                    // Nothing in the background or per request competing with the measured work
+                    "--progress.repair.cron=-",
+                    "--payments.reconciliation.enabled=false",
+                    "--mongo.query-budget.enabled=false"));
+            if (options.containsKey("tomcat-threads")) {
+                backendArgs.add("--server.tomcat.threads.max=" + options.get("tomcat-threads"));
+            }
+            app = new SpringApplicationBuilder(BackendApplication.class).run(backendArgs.toArray(String[]::new));
+            String port = app.getEnvironment().getProperty("local.server.port");
+            String base = "http://localhost:" + port;
+            log("Backend listening on %s with %s request threads", base, threads);
+
+            List<Scenario> scenarios = scenarios(base, dataset, new LoadDriver(1, warmup, duration));
+            Set<String> only = options.containsKey("only") ? Set.of(options.get("only").split(",")) : null;
+
+            List<Row> rows = new ArrayList<>();
+            for (int concurrency : levels) {
+                LoadDriver driver = new LoadDriver(concurrency, warmup, duration);
+                for (Scenario scenario : scenarios) {
+                    if (only != null && !only.contains(scenario.name())) {
+                        continue;
+                    }
+                    log("Running %s (%d workers, %d s)", scenario.name(), concurrency, duration.toSeconds());
+                    try (Peaks peaks = new Peaks(app)) {
+                        Result result = driver.run(scenario);
+                        rows.add(new Row(result, concurrency, peaks.connections, peaks.threads));
+                    }
+                }
+            }
+            print(rows, scale, threads);
+            if (options.containsKey("report")) {
+                writeCsv(Path.of(options.get("report")), rows, scale, threads);
+            }
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    // Read paths a page load or the admin UI triggers, plus the hot writes
+    private static List<Scenario> scenarios(String base, Dataset data, LoadDriver driver) throws Exception {
+        String admin = login(driver, base, data.adminEmail());
+        Map<String, String> tokens = new HashMap<>();
+        for (SampleStudent student : data.students().subList(0, Math.min(50, data.students().size()))) {
+            tokens.put(student.email(), login(driver, base, student.email()));
+        }
+        List<SampleStudent> students = data.students().stream()
+                .filter(s -> tokens.containsKey(s.email()))
+                .toList();
+        String[] words = SyntheticDataGenerator.WORDS;
+        Map<String, List<String>> modulesByCourse = new HashMap<>();
+        for (int i = 0; i < data.courseIds().size(); i++) {
+            modulesByCourse.put(data.courseIds().get(i), data.moduleIds().get(i));
+        }
+
+        List<Scenario> scenarios = new ArrayList<>();
+        scenarios.add(new Scenario("courses.list", r -> get(base + "/api/courses", null)));
+        scenarios.add(new Scenario("courses.stream", r -> stream(base + "/api/courses")));
+        scenarios.add(new Scenario("courses.detail",
+                r -> get(base + "/api/courses/" + pick(r, data.courseIds()), null)));
+        scenarios.add(new Scenario("modules.list",
+                r -> get(base + "/api/courses/" + pick(r, data.courseIds()) + "/modules", null)));
+        scenarios.add(new Scenario("modules.stream",
+                r -> stream(base + "/api/courses/" + pick(r, data.courseIds()) + "/modules")));
+        scenarios.add(new Scenario("courses.search", r -> get(base + "/api/courses/search?q="
+                + encode(words[r.nextInt(words.length)] + " " + words[r.nextInt(words.length)]), null)));
+        scenarios.add(new Scenario("courses.suggest", r -> {
+            String word = words[r.nextInt(words.length)];
+            String prefix = word.substring(0, 1 + r.nextInt(word.length()));
+            return get(base + "/api/courses/suggest?q=" + encode(prefix), null);
+        }));
+        scenarios.add(new Scenario("mentors.list", r -> get(base + "/api/mentors", null)));
+        scenarios.add(new Scenario("mentors.stream", r -> stream(base + "/api/mentors")));
+        scenarios.add(new Scenario("student.myCourses", r -> {
+            SampleStudent s = pick(r, students);
+            return get(base + "/api/student/my-courses", tokens.get(s.email()));
+        }));
+        scenarios.add(new Scenario("student.progress", r -> {
+            SampleStudent s = pick(r, students);
+            return get(base + "/api/student/courses/" + pick(r, s.courseIds()) + "/progress", tokens.get(s.email()));
+        }));
+        scenarios.add(new Scenario("student.completeModule", r -> {
+            SampleStudent s = pick(r, students);
+            String courseId = pick(r, s.courseIds());
+            List<String> modules = modulesByCourse.get(courseId);
+            return HttpRequest.newBuilder(URI.create(base + "/api/student/courses/" + courseId + "/modules/"
+                    + pick(r, modules) + "/complete")).timeout(REQUEST_TIMEOUT)
+                    .header("Authorization", "Bearer " + tokens.get(s.email()))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build();
+        }));
+        scenarios.add(new Scenario("admin.usersPage", r -> get(base + "/api/admin/users?limit=50", admin)));
+        scenarios.add(new Scenario("admin.analytics", r -> get(base + "/api/admin/analytics", admin)));
+        scenarios.add(new Scenario("admin.studentProgress", r -> get(base + "/api/admin/student-progress", admin)));
+        scenarios.add(new Scenario("auth.login", r -> loginRequest(base, pick(r, students).email())));
+        return scenarios;
+    }
+
+    private static String login(LoadDriver driver, String base, String email) throws Exception {
+        HttpResponse<String> response = driver.send(loginRequest(base, email));
+        Matcher token = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"").matcher(response.body());
+        if (response.statusCode() != 200 || !token.find()) {
+            throw new IllegalStateException("Login failed for " + email + ": " + response.statusCode());
+        }
+        return token.group(1);
+    }
+
+    private static HttpRequest loginRequest(String base, String email) {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + SyntheticDataGenerator.PASSWORD + "\"}";
+        return HttpRequest.newBuilder(URI.create(base + "/api/auth/login")).timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private static HttpRequest get(String url, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    // The reactive NDJSON variant of a catalog read; the *.list scenarios are the blocking JSON one
+    private static HttpRequest stream(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/x-ndjson").GET().build();
+    }
+
+    private static <T> T pick(Random random, List<T> items) {
+        return items.get(random.nextInt(items.size()));
+    }
+
+    private static String encode(String s) {
+        return URLEncoder.encode(s, StandardCharsets.UTF_8);
+    }
+
+    private static void print(List<Row> rows, Scale scale, String threads) {
+        System.out.printf("%nScale %d enrollments, %s request threads%n", scale.enrollments(), threads);
+        System.out.printf("%-24s %7s %9s %7s %10s %9s %9s %9s %9s %7s %7s%n", "scenario", "workers", "requests",
+                "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "conns", "threads");
+        for (Row row : rows) {
+            Result r = row.result();
+            System.out.printf("%-24s %7d %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %7d %7d%n", r.name(),
+                    row.concurrency(), r.requests(), r.errors(), r.throughput(), r.p50() / 1e6, r.p95() / 1e6,
+                    r.p99() / 1e6, r.max() / 1e6, row.peakConnections(), row.peakThreads());
+        }
+    }
+
+    private static void writeCsv(Path path, List<Row> rows, Scale scale, String threads) throws Exception {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path))) {
+            out.println("scenario,threads,enrollments,concurrency,requests,errors,throughput,p50_ms,p95_ms,p99_ms,"
+                    + "max_ms,peak_connections,peak_threads");
+            for (Row row : rows) {
+                Result r = row.result();
+                out.printf("%s,%s,%d,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%d,%d%n", r.name(), threads,
+                        scale.enrollments(), row.concurrency(), r.requests(), r.errors(), r.throughput(),
+                        r.p50() / 1e6, r.p95() / 1e6, r.p99() / 1e6, r.max() / 1e6, row.peakConnections(),
+                        row.peakThreads());
+            }
+        }
+        log("Report written to %s", path);
+    }
+
+    private record Row(Result result, int concurrency, long peakConnections, int peakThreads) {
+    }
+
+    // Samples open connections and live platform threads while a scenario runs
+    private static final class Peaks implements AutoCloseable {
+        private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        private final AbstractProtocol<?> protocol;
+        private final ThreadMXBean jvmThreads = ManagementFactory.getThreadMXBean();
+        private volatile long connections;
+        private volatile int threads;
+
+        Peaks(ConfigurableApplicationContext app) {
+            protocol = app instanceof WebServerApplicationContext web
+                    && web.getWebServer() instanceof TomcatWebServer tomcat
+                    && tomcat.getTomcat().getConnector().getProtocolHandler() instanceof AbstractProtocol<?> p
+                            ? p : null;
+            sampler.scheduleAtFixedRate(this::sample, 0, 20, TimeUnit.MILLISECONDS);
+        }
+
+        private void sample() {
+            if (protocol != null) {
+                connections = Math.max(connections, protocol.getConnectionCount());
+            }
+            threads = Math.max(threads, jvmThreads.getThreadCount());
+        }
+
+        @Override
+        public void close() {
+            sampler.shutdownNow();
+        }
+    }
+
+    // Always a loadtest_* database: the generator drops the collections it fills
+    private static String withDatabase(String uri, String database) {
+        int hostsStart = uri.indexOf("://") + 3;
+        int slash = uri.indexOf('/', hostsStart);
+        int query = uri.indexOf('?', hostsStart);
+        int hostsEnd = slash >= 0 ? slash : query >= 0 ? query : uri.length();
+        String params = query >= 0 ? uri.substring(query) : "";
+        return uri.substring(0, hostsEnd) + "/" + database + params;
+    }
+
+    // -key=value pairs
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String trimmed = arg.replaceFirst("^-+", "");
+            int eq = trimmed.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected -key=value, got " + arg);
+            }
+            options.put(trimmed.substring(0, eq), trimmed.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf("[loadtest] " + format + "%n", args);
+    }
+}
@@ -0,0 +1,262 @@
+package com.omp.load;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.omp.entity.Certificate;
+import com.omp.entity.Course;
+import com.omp.entity.Enrollment;
+import com.omp.entity.Mentor;
+import com.omp.entity.Module;
+import com.omp.entity.Payment;
+import com.omp.entity.Payment.PaymentStatus;
+import com.omp.entity.Role;
+import com.omp.entity.User;
+
+/**
+ * Fills an empty database with a catalog and its students at a given scale.
+ * Documents are written through the entity classes, so they look exactly
+ * like the ones the application writes, in unordered bulk inserts. The
+ * same seed produces the same documents and ids; dates are relative to the
+ * time of the run.
+ */
+public class SyntheticDataGenerator {
+    public static final String PASSWORD = "loadtest123";
+    static final String[] WORDS = ("java spring boot python machine learning data science react javascript web "
+            + "development cloud aws docker kubernetes design patterns algorithms database mongodb sql security "
+            + "devops testing microservices android kotlin swift rust golang analytics statistics deep neural "
+            + "vision finance marketing product management leadership photography music guitar drawing writing")
+            .split(" ");
+    private static final String[] NAMES = ("aarav priya rohan ananya vikram meera arjun kavya rahul sneha john "
+            + "maria david sara wei carlos elena omar fatima lucas").split(" ");
+    private static final int BATCH = 5_000;
+    private static final int SAMPLE_STUDENTS = 200;
+
+    private final MongoTemplate mongoTemplate;
+    private final Random random;
+    // ObjectIds from a fixed timestamp and a counter, so ids repeat across runs too
+    private final int idTime;
+    private int idCounter;
+
+    public SyntheticDataGenerator(MongoTemplate mongoTemplate, long seed) {
+        this.mongoTemplate = mongoTemplate;
+        this.random = new Random(seed);
+        this.idTime = 1_700_000_000 + (int) Math.floorMod(seed, 10_000_000L);
+    }
+
+    /** Sizes derived from the enrollment count: about three enrollments per student, 200 per course. */
+    public record Scale(int enrollments) {
+        public static Scale parse(String text) {
+            String s = text.trim().toLowerCase(Locale.ROOT);
+            int factor = s.endsWith("k") ? 1_000 : s.endsWith("m") ? 1_000_000 : 1;
+            String digits = factor == 1 ? s : s.substring(0, s.length() - 1);
+            return new Scale(Integer.parseInt(digits) * factor);
+        }
+
+        public int students() {
+            return Math.max(10, enrollments / 3);
+        }
+
+        public int courses() {
+            return Math.max(20, enrollments / 200);
+        }
+
+        public int mentors() {
+            return Math.max(3, courses() / 10);
+        }
+
+        public int modulesPerCourse() {
+            return 8;
+        }
+    }
+
+    /** A student the load scenarios log in as, with what they are enrolled in. */
+    public record SampleStudent(String email, List<String> courseIds) {
+    }
+
+    /** What the scenarios need to build requests against the generated data. */
+    public record Dataset(String adminEmail, List<String> courseIds, List<List<String>> moduleIds,
+            List<String> mentorIds, List<SampleStudent> students) {
+    }
+
+    public Dataset generate(Scale scale) {
+        for (Class<?> type : List.of(User.class, Mentor.class, Course.class, Module.class, Enrollment.class,
+                Payment.class, Certificate.class)) {
+            mongoTemplate.dropCollection(type);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // One hash for everybody: bcrypt per user would dominate generation time
+        String password = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        List<User> users = new ArrayList<>();
+        String adminEmail = "admin@load.test";
+        users.add(User.builder().id(id()).name("Load Admin").email(adminEmail).password(password)
+                .role(Role.ADMIN).createdAt(now).active(true).build());
+
+        List<String> mentorIds = new ArrayList<>();
+        List<Mentor> mentors = new ArrayList<>();
+        for (int i = 0; i < scale.mentors(); i++) {
+            User user = User.builder().id(id()).name(name()).email("mentor" + i + "@load.test").password(password)
+                    .role(Role.MENTOR).createdAt(now.minusDays(random.nextInt(700))).active(true).build();
+            users.add(user);
+            Mentor mentor = Mentor.builder().id(id()).userId(user.getId())
+                    .expertise(words(3, ", ")).bio("Teaches " + words(4, " ") + " to working engineers.")
+                    .imageUrl("uploads/Profile.png").courseIds(new ArrayList<>()).build();
+            mentors.add(mentor);
+            mentorIds.add(mentor.getId());
+        }
+        insert(users, User.class);
+        users.clear();
+
+        List<String> courseIds = new ArrayList<>();
+        List<List<String>> moduleIds = new ArrayList<>();
+        List<Course> courses = new ArrayList<>();
+        List<Module> modules = new ArrayList<>();
+        for (int i = 0; i < scale.courses(); i++) {
+            Mentor mentor = mentors.get(random.nextInt(mentors.size()));
+            String courseId = id();
+            List<String> ids = new ArrayList<>();
+            for (int m = 0; m < scale.modulesPerCourse(); m++) {
+                Module module = Module.builder().id(id()).courseId(courseId).title("Module " + (m + 1) + ": "
+                        + capitalize(words(2, " "))).summary(words(12, " "))
+                        .videoUrl("https://www.youtube.com/watch?v=dQw4w9WgXcQ").build();
+                modules.add(module);
+                ids.add(module.getId());
+            }
+            courses.add(Course.builder().id(courseId).title(capitalize(words(3, " ")) + " " + (i + 1))
+                    .description("Hands-on course on " + words(10, " ") + ".")
+                    .price(random.nextInt(5) == 0 ? 0.0 : 499.0 + random.nextInt(10) * 100)
+                    .imageUrl("uploads/course.png").mentorId(mentor.getId()).moduleIds(ids)
+                    .moduleCount(ids.size()).build());
+            mentor.getCourseIds().add(courseId);
+            courseIds.add(courseId);
+            moduleIds.add(ids);
+            if (modules.size() >= BATCH) {
+                insert(modules, Module.class);
+                modules.clear();
+            }
+        }
+        insert(courses, Course.class);
+        insert(modules, Module.class);
+        insert(mentors, Mentor.class);
+
+        List<SampleStudent> samples = new ArrayList<>();
+        List<Enrollment> enrollments = new ArrayList<>();
+        List<Payment> payments = new ArrayList<>();
+        List<Certificate> certificates = new ArrayList<>();
+        int remaining = scale.enrollments();
+        for (int s = 0; s < scale.students(); s++) {
+            User student = User.builder().id(id()).name(name()).email("student" + s + "@load.test")
+                    .password(password).role(Role.STUDENT).createdAt(now.minusMinutes(random.nextInt(500_000)))
+                    .active(random.nextInt(50) != 0).build();
+            users.add(student);
+
+            // Spread what is left evenly over the remaining students, distinct courses each
+            int studentsLeft = scale.students() - s;
+            int count = Math.min(courseIds.size(), (remaining + studentsLeft - 1) / studentsLeft);
+            remaining -= count;
+            Set<Integer> picked = new LinkedHashSet<>();
+            while (picked.size() < count) {
+                picked.add(random.nextInt(courseIds.size()));
+            }
+            List<String> enrolled = new ArrayList<>();
+            for (int c : picked) {
+                String courseId = courseIds.get(c);
+                enrolled.add(courseId);
+                enrollments.add(enrollment(student.getId(), courseId, moduleIds.get(c), now, certificates));
+                payments.add(payment(student.getId(), courseId, PaymentStatus.COMPLETED, now));
+                if (random.nextInt(10) == 0) {
+                    // Abandoned checkouts on other courses
+                    String other = courseIds.get(random.nextInt(courseIds.size()));
+                    if (!enrolled.contains(other)) {
+                        payments.add(payment(student.getId(), other,
+                                random.nextBoolean() ? PaymentStatus.PENDING : PaymentStatus.FAILED, now));
+                    }
+                }
+            }
+            if (samples.size() < SAMPLE_STUDENTS && student.isActive() && !enrolled.isEmpty()) {
+                samples.add(new SampleStudent(student.getEmail(), enrolled));
+            }
+            if (enrollments.size() >= BATCH) {
+                flush(users, enrollments, payments, certificates);
+            }
+        }
+        flush(users, enrollments, payments, certificates);
+        return new Dataset(adminEmail, courseIds, moduleIds, mentorIds, samples);
+    }
+
+    // 30% not started, 50% part way, 20% finished (with a certificate)
+    private Enrollment enrollment(String userId, String courseId, List<String> modules, LocalDateTime now,
+            List<Certificate> certificates) {
+        int roll = random.nextInt(10);
+        int done = roll < 3 ? 0 : roll < 8 ? 1 + random.nextInt(modules.size() - 1) : modules.size();
+        boolean complete = done == modules.size();
+        LocalDateTime completedAt = complete ? now.minusDays(random.nextInt(200)) : null;
+        String certificateUrl = null;
+        if (complete) {
+            certificateUrl = "/uploads/certificates/certificate_" + userId + "_" + courseId + ".png";
+            certificates.add(Certificate.builder().id(id()).userId(userId).courseId(courseId)
+                    .issuedAt(completedAt).url(certificateUrl).build());
+        }
+        return Enrollment.builder().id(id()).userId(userId).courseId(courseId)
+                .completedModules(new LinkedHashSet<>(modules.subList(0, done))).completedCount(done)
+                .percentComplete(done * 100.0 / modules.size()).completedAt(completedAt)
+                .certificateUrl(certificateUrl).build();
+    }
+
+    private Payment payment(String userId, String courseId, PaymentStatus status, LocalDateTime now) {
+        return Payment.builder().id(id()).userId(userId).courseId(courseId).amount(499.0).amountPaise(49_900L)
+                .currency("INR").status(status).paymentMethod("RAZORPAY")
+                .transactionId(new UUID(random.nextLong(), random.nextLong()).toString())
+                .providerOrderId("order_" + id()).paymentDate(now.minusMinutes(random.nextInt(500_000))).build();
+    }
+
+    private void flush(List<User> users, List<Enrollment> enrollments, List<Payment> payments,
+            List<Certificate> certificates) {
+        insert(users, User.class);
+        insert(enrollments, Enrollment.class);
+        insert(payments, Payment.class);
+        insert(certificates, Certificate.class);
+        users.clear();
+        enrollments.clear();
+        payments.clear();
+        certificates.clear();
+    }
+
+    private void insert(List<?> documents, Class<?> type) {
+        if (!documents.isEmpty()) {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type).insert(documents).execute();
+        }
+    }
+
+    private String id() {
+        return new ObjectId(idTime, idCounter++).toHexString();
+    }
+
+    private String name() {
+        return capitalize(NAMES[random.nextInt(NAMES.length)]) + " " + capitalize(NAMES[random.nextInt(NAMES.length)]);
+    }
+
+    private String words(int count, String separator) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "" : separator).append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String capitalize(String s) {
+        return s.isEmpty() ? s : Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+}
@@ -0,0 +1,176 @@
+package com.omp.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the independent lookups of a composite endpoint at the same time, so
+ * it takes as long as the slowest one rather than their sum:
+ *
+ * <pre>
+ * try (FanOut.Scope scope = fanOut.open()) {
+ *     Supplier&lt;Long&gt; users = scope.fork(userRepository::count);
+ *     Supplier&lt;Long&gt; courses = scope.fork(courseRepository::count);
+ *     scope.join();
+ *     ...users.get()...
+ * }
+ * </pre>
+ *
+ * The first failure cancels the rest of the scope and is rethrown by
+ * {@link Scope#join()} as it was thrown; so does running past the scope's
+ * deadline. Forked lookups see the caller's MDC and count against its
+ * Mongo query budget. On virtual threads each fork gets its own thread;
+ * otherwise forks share a bounded pool and run on the calling thread when
+ * it is full, so a busy node degrades to the serial path instead of
+ * queueing. Forks should not open scopes of their own.
+ */
+@Component
+public class FanOut implements DisposableBean {
+    private final ExecutorService executor;
+    private final MongoQueryTracker tracker;
+    private final Duration timeout;
+
+    public FanOut(ThreadFactory fanOutThreadFactory, MongoQueryTracker tracker, Environment environment,
+            @Value("${fan-out.timeout:10s}") Duration timeout, @Value("${fan-out.max-threads:32}") int maxThreads) {
+        this.tracker = tracker;
+        this.timeout = timeout;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            this.executor = Executors.newThreadPerTaskExecutor(fanOutThreadFactory);
+        } else {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                    new SynchronousQueue<>(), fanOutThreadFactory);
+            pool.allowCoreThreadTimeOut(true);
+            this.executor = pool;
+        }
+    }
+
+    /** A scope with the default deadline ({@code fan-out.timeout}). */
+    public Scope open() {
+        return open(timeout);
+    }
+
+    public Scope open(Duration deadline) {
+        return new Scope(System.nanoTime() + deadline.toNanos(), deadline);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /** Forks of one composite call; close it to cancel whatever is still running. */
+    public final class Scope implements AutoCloseable {
+        private final long deadline;
+        private final Duration timeout;
+        private final List<Future<?>> forks = new CopyOnWriteArrayList<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private Scope(long deadline, Duration timeout) {
+            this.deadline = deadline;
+            this.timeout = timeout;
+        }
+
+        /** Starts {@code task}; its result is available from the supplier after {@link #join()}. */
+        public <T> Supplier<T> fork(Callable<T> task) {
+            Map<String, String> mdc = MDC.getCopyOfContextMap();
+            MongoQueryTracker.Usage usage = tracker.current();
+            Callable<T> forked = () -> {
+                Map<String, String> callerMdc = MDC.getCopyOfContextMap();
+                MongoQueryTracker.Usage callerUsage = tracker.attach(usage);
+                setMdc(mdc);
+                try {
+                    return task.call();
+                } catch (Exception | Error e) {
+                    if (failure.compareAndSet(null, e)) {
+                        cancelAll();
+                    }
+                    throw e;
+                } finally {
+                    tracker.attach(callerUsage);
+                    setMdc(callerMdc);
+                }
+            };
+            Future<T> future;
+            try {
+                future = executor.submit(forked);
+            } catch (RejectedExecutionException e) {
+                // Pool full: run it here, as the serial code did. Added to the scope only once done,
+                // so a failing sibling cannot interrupt the calling thread.
+                FutureTask<T> inline = new FutureTask<>(forked);
+                inline.run();
+                future = inline;
+            }
+            forks.add(future);
+            return future::resultNow;
+        }
+
+        /** Waits for every fork until the deadline, rethrowing the first failure. */
+        public void join() {
+            try {
+                for (Future<?> fork : forks) {
+                    fork.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+            } catch (TimeoutException e) {
+                cancelAll();
+                throw new IllegalStateException("Lookups did not finish within " + timeout.toMillis() + " ms");
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for lookups", e);
+            } catch (ExecutionException | CancellationException e) {
+                cancelAll();
+                Throwable cause = failure.get() != null ? failure.get() : e.getCause();
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException("Lookup failed", cause);
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private void cancelAll() {
+            for (Future<?> fork : forks) {
+                fork.cancel(true);
+            }
+        }
+    }
+
+    private static void setMdc(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
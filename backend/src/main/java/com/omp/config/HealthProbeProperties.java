@@ -0,0 +1,41 @@
+package com.omp.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "health.probes")
+@Getter
+@Setter
+public class HealthProbeProperties {
+    /**
+     * How long a probe result is reused; probes arriving meanwhile get the cached answer.
+     */
+    private Duration cacheTtl = Duration.ofSeconds(5);
+
+    /**
+     * Mongo ping slower than this is reported as slow (still UP).
+     */
+    private Duration mongoSlowAfter = Duration.ofMillis(250);
+
+    /**
+     * Mongo ping timeout, enforced client-side; a ping that takes longer counts as DOWN.
+     */
+    private Duration mongoTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Less free space than this on the upload volume is DOWN.
+     */
+    private DataSize uploadsMinFree = DataSize.ofMegabytes(100);
+
+    /**
+     * Share of busy request threads at which the executors check reports saturated.
+     */
+    private double executorSaturation = 1.0;
+}
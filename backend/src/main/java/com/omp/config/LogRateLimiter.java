@@ -0,0 +1,99 @@
+package com.omp.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Logback turbo filter capping INFO and below at a number of events per
+ * second per logger; WARN and ERROR always pass. Limits are set per
+ * category prefix ({@code <limit>com.omp.access=20</limit>}), the longest
+ * matching prefix wins and other loggers get {@code defaultPerSecond}.
+ * Events over the limit are dropped before a message is formatted, and
+ * counted in {@link #dropped()}.
+ */
+public class LogRateLimiter extends TurboFilter {
+    private int defaultPerSecond = 100;
+    private final List<Limit> limits = new ArrayList<>();
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    private static final AtomicLong dropped = new AtomicLong();
+
+    public void setDefaultPerSecond(int defaultPerSecond) {
+        this.defaultPerSecond = defaultPerSecond;
+    }
+
+    // One <limit>prefix=perSecond</limit> element per category
+    public void addLimit(String limit) {
+        int eq = limit.indexOf('=');
+        try {
+            limits.add(new Limit(limit.substring(0, eq).trim(), Integer.parseInt(limit.substring(eq + 1).trim())));
+        } catch (RuntimeException e) {
+            addError("Expected prefix=perSecond, got " + limit);
+        }
+    }
+
+    public static long dropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+            Throwable t) {
+        // isXxxEnabled() checks come with no format; only real events use up the budget
+        if (format == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.computeIfAbsent(logger.getName(), name -> new Window(limitFor(name)));
+        if (window.tryAcquire(System.currentTimeMillis() / 1000)) {
+            return FilterReply.NEUTRAL;
+        }
+        dropped.incrementAndGet();
+        return FilterReply.DENY;
+    }
+
+    private int limitFor(String name) {
+        int best = -1;
+        int perSecond = defaultPerSecond;
+        for (Limit limit : limits) {
+            String prefix = limit.prefix();
+            boolean matches = name.equals(prefix) || name.startsWith(prefix + ".");
+            if (matches && prefix.length() > best) {
+                best = prefix.length();
+                perSecond = limit.perSecond();
+            }
+        }
+        return perSecond;
+    }
+
+    private record Limit(String prefix, int perSecond) {
+    }
+
+    // Fixed one-second window; a racing reset can let a few extra events through, which is fine
+    private static final class Window {
+        private final int perSecond;
+        private volatile long second;
+        private final AtomicLong count = new AtomicLong();
+
+        Window(int perSecond) {
+            this.perSecond = perSecond;
+        }
+
+        boolean tryAcquire(long now) {
+            if (now != second) {
+                second = now;
+                count.set(0);
+            }
+            return count.incrementAndGet() <= perSecond;
+        }
+    }
+}
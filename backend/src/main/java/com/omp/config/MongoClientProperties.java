@@ -0,0 +1,104 @@
+package com.omp.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Driver settings applied to both Mongo clients (blocking and reactive) on
+ * top of {@code spring.data.mongodb.uri}; where both set an option, these
+ * win. See {@link MongoClientTuning} and {@link ReportingReads}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "mongo.client")
+@Getter
+@Setter
+public class MongoClientProperties {
+    private final Pool pool = new Pool();
+    private final Reporting reporting = new Reporting();
+
+    /**
+     * TCP connect timeout for new connections.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(10);
+
+    /**
+     * How long a read on a socket may block before the operation fails; 0 waits forever.
+     */
+    private Duration socketTimeout = Duration.ofSeconds(30);
+
+    /**
+     * How long an operation waits for a suitable server (e.g. during a failover).
+     */
+    private Duration serverSelectionTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Read preference of every read that does not go through {@link ReportingReads}.
+     */
+    private String readPreference = "primary";
+
+    @Getter
+    @Setter
+    public static class Pool {
+        /**
+         * Connections per server, in use or idle.
+         */
+        private int maxSize = 100;
+
+        /**
+         * Connections kept open per server even when idle.
+         */
+        private int minSize = 0;
+
+        /**
+         * How long an operation waits for a free connection before failing.
+         */
+        private Duration maxWaitTime = Duration.ofSeconds(2);
+
+        /**
+         * Idle connections are closed after this; 0 keeps them.
+         */
+        private Duration maxIdleTime = Duration.ofMinutes(5);
+
+        /**
+         * Connections are replaced after this age; 0 keeps them.
+         */
+        private Duration maxLifeTime = Duration.ZERO;
+
+        /**
+         * Connections being established at the same time per server.
+         */
+        private int maxConnecting = 2;
+    }
+
+    @Getter
+    @Setter
+    public static class Reporting {
+        /**
+         * Read preference of analytics and reporting reads.
+         */
+        private String readPreference = "secondaryPreferred";
+
+        /**
+         * Member tags those reads prefer, as name:value pairs (e.g. nodeType:ANALYTICS on Atlas);
+         * empty means any secondary.
+         */
+        private List<String> tags = new ArrayList<>();
+
+        /**
+         * Secondaries lagging more than this are skipped (at least 90s); 0 means no limit.
+         */
+        private Duration maxStaleness = Duration.ZERO;
+
+        /**
+         * Server-side time limit per reporting query.
+         */
+        private Duration maxTime = Duration.ofSeconds(15);
+    }
+}
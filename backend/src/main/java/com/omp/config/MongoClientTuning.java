@@ -0,0 +1,78 @@
+package com.omp.config;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Applies {@link MongoClientProperties} to the Mongo clients and times how
+ * long operations wait for a pooled connection, as
+ * {@code mongodb.driver.pool.checkout{outcome}}: {@code success}, or why the
+ * checkout failed ({@code timeout} once {@code pool.max-wait-time} passes).
+ * Boot's own listener adds the pool size, checked-out and wait-queue gauges.
+ */
+@Component
+public class MongoClientTuning implements MongoClientSettingsBuilderCustomizer, ConnectionPoolListener {
+    private final MongoClientProperties properties;
+    private final Timer checkedOut;
+    private final Map<ConnectionCheckOutFailedEvent.Reason, Timer> failed =
+            new EnumMap<>(ConnectionCheckOutFailedEvent.Reason.class);
+
+    public MongoClientTuning(MongoClientProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.checkedOut = checkoutTimer(meterRegistry, "success");
+        for (ConnectionCheckOutFailedEvent.Reason reason : ConnectionCheckOutFailedEvent.Reason.values()) {
+            failed.put(reason, checkoutTimer(meterRegistry, reason.name().toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    @Override
+    public void customize(MongoClientSettings.Builder builder) {
+        MongoClientProperties.Pool pool = properties.getPool();
+        builder.applyToConnectionPoolSettings(settings -> settings
+                .maxSize(pool.getMaxSize())
+                .minSize(pool.getMinSize())
+                .maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                .maxConnectionIdleTime(pool.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                .maxConnectionLifeTime(pool.getMaxLifeTime().toMillis(), TimeUnit.MILLISECONDS)
+                .maxConnecting(pool.getMaxConnecting())
+                .addConnectionPoolListener(this));
+        builder.applyToSocketSettings(settings -> settings
+                .connectTimeout((int) properties.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout((int) properties.getSocketTimeout().toMillis(), TimeUnit.MILLISECONDS));
+        builder.applyToClusterSettings(settings -> settings
+                .serverSelectionTimeout(properties.getServerSelectionTimeout().toMillis(), TimeUnit.MILLISECONDS));
+        // Transactions and read-your-own-write flows rely on this staying on the primary
+        builder.readPreference(ReadPreference.valueOf(properties.getReadPreference()));
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        checkedOut.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        failed.get(event.getReason()).record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer checkoutTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("mongodb.driver.pool.checkout")
+                .description("Time operations waited for a pooled Mongo connection")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,204 @@
+package com.omp.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import com.omp.entity.Certificate;
+import com.omp.entity.Course;
+import com.omp.entity.Enrollment;
+import com.omp.entity.Mentor;
+import com.omp.entity.Module;
+import com.omp.entity.Payment;
+import com.omp.entity.Payment.PaymentStatus;
+import com.omp.entity.User;
+import com.omp.entity.WebhookEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Every index the application relies on, declared in one place. At startup
+ * each collection's live indexes are compared with the catalog: missing ones
+ * are created (unless {@code mongo.indexes.create=false}), and indexes whose
+ * keys or options differ, or that exist under another name, are logged as
+ * drift rather than dropped.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class MongoIndexCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexCatalog.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${mongo.indexes.create:true}")
+    private boolean createMissing;
+
+    private volatile List<String> drift = List.of();
+
+    static Map<Class<?>, List<Index>> catalog() {
+        Map<Class<?>, List<Index>> catalog = new LinkedHashMap<>();
+        catalog.put(User.class, List.of(
+                new Index().on("email", Sort.Direction.ASC).unique().named("uniq_user_email"),
+                new Index().on("role", Sort.Direction.ASC).named("user_role"),
+                new Index().on("resetToken", Sort.Direction.ASC).sparse().named("user_reset_token"),
+                // Keyset pages of the admin lists: sort field then _id
+                new Index().on("name", Sort.Direction.ASC).on("_id", Sort.Direction.ASC).named("user_name_id"),
+                new Index().on("createdAt", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+                        .named("user_created_id")));
+        catalog.put(Enrollment.class, List.of(
+                new Index().on("userId", Sort.Direction.ASC).on("courseId", Sort.Direction.ASC).unique()
+                        .named("uniq_enrollment_user_course"),
+                new Index().on("courseId", Sort.Direction.ASC).on("percentComplete", Sort.Direction.DESC)
+                        .named("enrollment_course_percent"),
+                new Index().on("completedAt", Sort.Direction.DESC).sparse().named("enrollment_completed_at")));
+        catalog.put(Module.class, List.of(
+                new Index().on("courseId", Sort.Direction.ASC).named("module_course"),
+                new Index().on("courseId", Sort.Direction.ASC).on("title", Sort.Direction.ASC)
+                        .on("_id", Sort.Direction.ASC).named("module_course_title_id"),
+                new Index().on("title", Sort.Direction.ASC).on("_id", Sort.Direction.ASC).named("module_title_id")));
+        catalog.put(Course.class, List.of(
+                new Index().on("mentorId", Sort.Direction.ASC).named("course_mentor"),
+                new Index().on("mentorId", Sort.Direction.ASC).on("title", Sort.Direction.ASC)
+                        .on("_id", Sort.Direction.ASC).named("course_mentor_title_id"),
+                new Index().on("title", Sort.Direction.ASC).on("_id", Sort.Direction.ASC).named("course_title_id"),
+                new Index().on("price", Sort.Direction.ASC).on("_id", Sort.Direction.ASC).named("course_price_id")));
+        catalog.put(Mentor.class, List.of(
+                new Index().on("userId", Sort.Direction.ASC).named("mentor_user"),
+                new Index().on("expertise", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+                        .named("mentor_expertise_id")));
+        catalog.put(Certificate.class, List.of(
+                new Index().on("courseId", Sort.Direction.ASC).named("certificate_course")));
+        catalog.put(Payment.class, List.of(
+                // At most one open payment per (user, course)
+                new Index().on("userId", Sort.Direction.ASC).on("courseId", Sort.Direction.ASC).unique()
+                        .partial(PartialIndexFilter.of(Criteria.where("status").is(PaymentStatus.PENDING.name())))
+                        .named("uniq_open_payment_per_user_course"),
+                new Index().on("idempotencyKey", Sort.Direction.ASC).unique().sparse()
+                        .named("uniq_payment_idempotency_key"),
+                new Index().on("userId", Sort.Direction.ASC).on("courseId", Sort.Direction.ASC)
+                        .on("status", Sort.Direction.ASC).named("payment_user_course_status"),
+                new Index().on("status", Sort.Direction.ASC).on("paymentDate", Sort.Direction.ASC)
+                        .on("_id", Sort.Direction.ASC).named("payment_status_date"),
+                new Index().on("providerOrderId", Sort.Direction.ASC).sparse().named("payment_provider_order"),
+                new Index().on("courseId", Sort.Direction.ASC).named("payment_course")));
+        catalog.put(WebhookEvent.class, List.of(
+                new Index().on("status", Sort.Direction.ASC).on("receivedAt", Sort.Direction.ASC)
+                        .named("webhook_status_received"),
+                new Index().on("status", Sort.Direction.ASC).on("claimedAt", Sort.Direction.ASC)
+                        .named("webhook_status_claimed")));
+        return catalog;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        List<String> diff = new ArrayList<>();
+        int ok = 0;
+        int created = 0;
+        for (Map.Entry<Class<?>, List<Index>> entry : catalog().entrySet()) {
+            String collection = mongoTemplate.getCollectionName(entry.getKey());
+            IndexOperations ops = mongoTemplate.indexOps(entry.getKey());
+            List<IndexInfo> live;
+            try {
+                live = ops.getIndexInfo();
+            } catch (Exception e) {
+                logger.warn("Could not read indexes of {}: {}", collection, e.getMessage());
+                continue;
+            }
+
+            List<String> declaredNames = new ArrayList<>();
+            for (Index index : entry.getValue()) {
+                String name = index.getIndexOptions().getString("name");
+                declaredNames.add(name);
+                Document keys = index.getIndexKeys();
+                IndexInfo byName = live.stream().filter(i -> name.equals(i.getName())).findFirst().orElse(null);
+                IndexInfo byKeys = live.stream().filter(i -> keys.equals(keysOf(i))).findFirst().orElse(null);
+
+                if (byName != null) {
+                    String mismatch = mismatch(index, byName);
+                    if (mismatch == null) {
+                        ok++;
+                    } else {
+                        diff.add(collection + "." + name + ": " + mismatch);
+                    }
+                } else if (byKeys != null) {
+                    // Same keys under another name: creating ours would fail, so only report it
+                    diff.add(collection + "." + name + ": present as '" + byKeys.getName() + "'");
+                } else if (!createMissing) {
+                    diff.add(collection + "." + name + ": missing");
+                } else {
+                    try {
+                        ops.ensureIndex(index);
+                        created++;
+                    } catch (Exception e) {
+                        // Usually existing duplicates blocking a unique index; the app still works without it
+                        diff.add(collection + "." + name + ": could not create (" + e.getMessage() + ")");
+                    }
+                }
+            }
+
+            for (IndexInfo info : live) {
+                if (!"_id_".equals(info.getName()) && !declaredNames.contains(info.getName())
+                        && entry.getValue().stream().noneMatch(i -> i.getIndexKeys().equals(keysOf(info)))) {
+                    diff.add(collection + "." + info.getName() + ": not in catalog " + keysOf(info).toJson());
+                }
+            }
+        }
+
+        drift = List.copyOf(diff);
+        logger.info("Mongo indexes: {} ok, {} created, {} drifted", ok, created, diff.size());
+        diff.forEach(d -> logger.warn("Index drift: {}", d));
+    }
+
+    // Lines describing how the live indexes differ from the catalog, as of the last check
+    public List<String> drift() {
+        return drift;
+    }
+
+    private static Document keysOf(IndexInfo info) {
+        Document keys = new Document();
+        for (IndexField field : info.getIndexFields()) {
+            keys.append(field.getKey(), field.getDirection() == Sort.Direction.DESC ? -1 : 1);
+        }
+        return keys;
+    }
+
+    private static String mismatch(Index declared, IndexInfo live) {
+        Document keys = declared.getIndexKeys();
+        Document options = declared.getIndexOptions();
+        if (!keys.equals(keysOf(live))) {
+            return "keys " + keysOf(live).toJson() + " != " + keys.toJson();
+        }
+        if (options.getBoolean("unique", false) != live.isUnique()) {
+            return "unique=" + live.isUnique();
+        }
+        if (options.getBoolean("sparse", false) != live.isSparse()) {
+            return "sparse=" + live.isSparse();
+        }
+        Object partial = options.get("partialFilterExpression");
+        String declaredPartial = partial instanceof Document d ? d.toJson() : null;
+        String livePartial = live.getPartialFilterExpression();
+        if (!Objects.equals(declaredPartial == null ? null : Document.parse(declaredPartial),
+                livePartial == null ? null : Document.parse(livePartial))) {
+            return "partialFilterExpression " + livePartial + " != " + declaredPartial;
+        }
+        return null;
+    }
+}
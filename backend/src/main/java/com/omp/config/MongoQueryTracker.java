@@ -0,0 +1,143 @@
+package com.omp.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.bson.BsonArray;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonDocument;
+import org.bson.BsonReader;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+/**
+ * Counts the Mongo commands, returned documents and reply bytes of the
+ * current thread between {@link #begin()} and {@link #end()}. The sync
+ * driver reports events on the calling thread, so work a request hands to
+ * other threads is only counted when that thread is {@link #attach}ed to
+ * the request's usage, as {@code FanOut} does. Threads that never called
+ * {@code begin()} cost one ThreadLocal read per command.
+ */
+@Component
+public class MongoQueryTracker implements CommandListener, MongoClientSettingsBuilderCustomizer {
+    private static final ThreadLocal<Usage> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public void customize(MongoClientSettings.Builder builder) {
+        builder.addCommandListener(this);
+    }
+
+    public Usage begin() {
+        Usage usage = new Usage();
+        CURRENT.set(usage);
+        return usage;
+    }
+
+    public void end() {
+        CURRENT.remove();
+    }
+
+    /** What the current thread is counting into, or null. */
+    public Usage current() {
+        return CURRENT.get();
+    }
+
+    /** Counts the current thread's commands into {@code usage} (null stops); returns the previous one. */
+    public Usage attach(Usage usage) {
+        Usage previous = CURRENT.get();
+        if (usage == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(usage);
+        }
+        return previous;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        Usage usage = CURRENT.get();
+        if (usage == null) {
+            return;
+        }
+        usage.commands.incrementAndGet();
+        // "find users": the command and its collection, which is what repeats in an N+1
+        BsonValue target = event.getCommand().get(event.getCommandName());
+        String key = target != null && target.isString()
+                ? event.getCommandName() + " " + target.asString().getValue()
+                : event.getCommandName();
+        usage.byCommand.merge(key, 1, Integer::sum);
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Usage usage = CURRENT.get();
+        if (usage == null) {
+            return;
+        }
+        BsonDocument reply = event.getResponse();
+        usage.bytes.addAndGet(sizeOf(reply));
+        BsonValue cursor = reply.get("cursor");
+        if (cursor != null && cursor.isDocument()) {
+            BsonValue batch = cursor.asDocument().get("firstBatch");
+            if (batch == null) {
+                batch = cursor.asDocument().get("nextBatch");
+            }
+            if (batch instanceof BsonArray documents) {
+                usage.documents.addAndGet(documents.size());
+            }
+        }
+    }
+
+    // Replies from the wire start with their int32 length; anything else is encoded to measure it
+    private static int sizeOf(BsonDocument document) {
+        if (document instanceof RawBsonDocument raw) {
+            return raw.getByteBuffer().remaining();
+        }
+        try (BsonReader reader = document.asBsonReader()) {
+            if (reader instanceof BsonBinaryReader binary) {
+                return binary.getBsonInput().readInt32();
+            }
+        }
+        return new RawBsonDocument(document, new BsonDocumentCodec()).getByteBuffer().remaining();
+    }
+
+    /** What one request cost so far, including the lookups it fanned out to other threads. */
+    public static final class Usage {
+        private final AtomicInteger commands = new AtomicInteger();
+        private final AtomicLong documents = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private final Map<String, Integer> byCommand = new ConcurrentHashMap<>();
+
+        public int getCommands() {
+            return commands.get();
+        }
+
+        public long getDocuments() {
+            return documents.get();
+        }
+
+        public long getBytes() {
+            return bytes.get();
+        }
+
+        /** The most repeated commands, e.g. "find users x40, find mentors x20". */
+        public String topCommands(int limit) {
+            return byCommand.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .limit(limit)
+                    .map(e -> e.getKey() + " x" + e.getValue())
+                    .collect(Collectors.joining(", "));
+        }
+    }
+}
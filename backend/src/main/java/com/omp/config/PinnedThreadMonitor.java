@@ -0,0 +1,110 @@
+package com.omp.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * With virtual threads on, listens for the JDK's
+ * {@code jdk.VirtualThreadPinned} events: a virtual thread that blocked
+ * while pinned to its carrier (inside {@code synchronized} or a native
+ * frame) for longer than {@code threads.virtual.pinned-threshold}. Each one
+ * is timed as {@code jvm.threads.virtual.pinned}, and the first at each
+ * blocking site is logged with its stack.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class PinnedThreadMonitor implements SmartLifecycle, MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_SITES = 100;
+    private static final int STACK_DEPTH = 12;
+
+    private final Duration threshold;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private volatile Timer pinned;
+    private volatile RecordingStream stream;
+
+    public PinnedThreadMonitor(@Value("${threads.virtual.pinned-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads blocked while pinned to their carrier thread")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(EVENT).withThreshold(threshold).withStackTrace();
+            recording.onEvent(EVENT, this::onPinned);
+            recording.startAsync();
+            stream = recording;
+        } catch (RuntimeException e) {
+            // JFR can be missing from trimmed runtimes; the app runs the same without the diagnostics
+            logger.warn("Pinned virtual thread monitoring unavailable: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        Timer timer = pinned;
+        if (timer != null) {
+            timer.record(event.getDuration());
+        }
+        if (event.getStackTrace() == null) {
+            return;
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        String site = frames.stream()
+                .filter(f -> f.isJavaFrame() && f.getMethod().getType().getName().startsWith("com.omp."))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(PinnedThreadMonitor::describe)
+                .orElse("unknown");
+        if (reported.size() < MAX_SITES && reported.add(site)) {
+            logger.warn("Virtual thread pinned for {} ms at {}\n\tat {}", event.getDuration().toMillis(), site,
+                    frames.stream().limit(STACK_DEPTH).map(PinnedThreadMonitor::describe)
+                            .collect(Collectors.joining("\n\tat ")));
+        }
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":"
+                + frame.getLineNumber();
+    }
+}
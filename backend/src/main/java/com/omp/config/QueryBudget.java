@@ -0,0 +1,23 @@
+package com.omp.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how many Mongo commands and returned documents one request to
+ * the annotated endpoint may cost, overriding the defaults in
+ * {@link QueryBudgetProperties}. The count covers the whole request,
+ * including the principal lookup when the user cache is cold.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface QueryBudget {
+    int commands();
+
+    /** Negative: use the default document budget. */
+    int documents() default -1;
+}
@@ -0,0 +1,163 @@
+package com.omp.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Holds each request to a Mongo query budget. The counts go out as
+ * response headers (written just before the response commits) and as
+ * {@code mongo.request.*} summaries per endpoint. A request over its
+ * budget is logged with its most repeated commands. With
+ * {@code mongo.query-budget.fail-on-exceed} (tests) the body is held back
+ * until the request is done, so an over-budget request is answered with a
+ * 500 instead, under MockMvc and over a real port alike.
+ *
+ * Commands are counted on the request thread through a ThreadLocal.
+ * Lookups forked through {@link FanOut} are counted too, because FanOut
+ * attaches the request's usage to its threads. Work handed to other
+ * threads in any other way (an {@code @Async} method, a plain executor,
+ * or the reactive driver behind the streamed endpoints) escapes the
+ * tracker and is not counted.
+ */
+@Component
+// Inside RequestLoggingFilter, so budget warnings carry the request id
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final MongoQueryTracker tracker;
+    private final QueryBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        MongoQueryTracker.Usage usage = tracker.begin();
+        ContentCachingResponseWrapper held = properties.isFailOnExceed()
+                ? new ContentCachingResponseWrapper(response) : null;
+        HttpServletResponse target = held != null ? held : response;
+        try {
+            filterChain.doFilter(request, properties.isHeaders() ? new UsageHeaders(target, usage) : target);
+        } finally {
+            tracker.end();
+        }
+        // Streamed (NDJSON) responses are still being written, and read through the reactive driver,
+        // which the tracker does not see
+        if (request.isAsyncStarted()) {
+            if (held != null) {
+                request.getAsyncContext().addListener(new CopyOnComplete(held));
+            }
+            return;
+        }
+        String exceeded = check(request, usage);
+        if (held != null) {
+            if (exceeded != null) {
+                held.resetBuffer();
+                held.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                held.setContentType("text/plain;charset=UTF-8");
+                held.getOutputStream().write(exceeded.getBytes(StandardCharsets.UTF_8));
+            }
+            held.copyBodyToResponse();
+        }
+    }
+
+    // The over-budget message, or null
+    private String check(HttpServletRequest request, MongoQueryTracker.Usage usage) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            // Static files, probes and requests rejected before reaching a controller
+            return null;
+        }
+        String endpoint = request.getMethod() + " " + pattern;
+        meterRegistry.summary("mongo.request.commands", "uri", pattern.toString()).record(usage.getCommands());
+        meterRegistry.summary("mongo.request.documents", "uri", pattern.toString()).record(usage.getDocuments());
+
+        int maxCommands = properties.getMaxCommands();
+        long maxDocuments = properties.getMaxDocuments();
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            QueryBudget declared = handler.getMethodAnnotation(QueryBudget.class);
+            if (declared != null) {
+                maxCommands = declared.commands();
+                maxDocuments = declared.documents() >= 0 ? declared.documents() : maxDocuments;
+            }
+        }
+        if (usage.getCommands() <= maxCommands && usage.getDocuments() <= maxDocuments) {
+            return null;
+        }
+        String message = String.format("Mongo query budget exceeded on %s: %d commands (budget %d), "
+                + "%d documents (budget %d), %d bytes; top: %s", endpoint, usage.getCommands(), maxCommands,
+                usage.getDocuments(), maxDocuments, usage.getBytes(), usage.topCommands(3));
+        meterRegistry.counter("mongo.request.budget.exceeded", "uri", pattern.toString()).increment();
+        logger.warn(message);
+        return message;
+    }
+
+    private static final class CopyOnComplete implements AsyncListener {
+        private final ContentCachingResponseWrapper held;
+
+        CopyOnComplete(ContentCachingResponseWrapper held) {
+            this.held = held;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) throws IOException {
+            held.copyBodyToResponse();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    // The counts are final once the body starts going out; later commands only reach the log and metrics
+    private static final class UsageHeaders extends OnCommittedResponseWrapper {
+        private final MongoQueryTracker.Usage usage;
+
+        UsageHeaders(HttpServletResponse response, MongoQueryTracker.Usage usage) {
+            super(response);
+            this.usage = usage;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeader("X-Mongo-Commands", String.valueOf(usage.getCommands()));
+            setHeader("X-Mongo-Documents", String.valueOf(usage.getDocuments()));
+            setHeader("X-Mongo-Bytes", String.valueOf(usage.getBytes()));
+        }
+    }
+}
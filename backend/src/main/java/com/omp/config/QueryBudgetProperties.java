@@ -0,0 +1,39 @@
+package com.omp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "mongo.query-budget")
+@Getter
+@Setter
+public class QueryBudgetProperties {
+    /**
+     * Count Mongo commands per HTTP request. Off in prod.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Add X-Mongo-Commands, X-Mongo-Documents and X-Mongo-Bytes to every response.
+     */
+    private boolean headers = true;
+
+    /**
+     * Commands a request may issue unless its endpoint declares a {@link QueryBudget}.
+     */
+    private int maxCommands = 20;
+
+    /**
+     * Documents a request may read unless its endpoint declares a {@link QueryBudget}.
+     */
+    private int maxDocuments = 5_000;
+
+    /**
+     * Answer a request that exceeds its budget with a 500 rather than only
+     * logging a warning (for tests); responses are buffered to allow it.
+     */
+    private boolean failOnExceed = false;
+}
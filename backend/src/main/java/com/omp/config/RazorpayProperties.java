@@ -20,4 +20,14 @@ public class RazorpayProperties {
      * Razorpay key secret (server only). Provided via env var RAZORPAY_KEY_SECRET.
      */
     private String keySecret;
+
+    /**
+     * Secret configured on the Razorpay webhook. Provided via env var RAZORPAY_WEBHOOK_SECRET.
+     */
+    private String webhookSecret;
+
+    /**
+     * Maximum number of inbox events applied per consumer pass.
+     */
+    private int webhookBatchSize = 50;
 }
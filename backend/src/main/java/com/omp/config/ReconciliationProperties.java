@@ -0,0 +1,55 @@
+package com.omp.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "payments.reconciliation")
+@Getter
+@Setter
+public class ReconciliationProperties {
+    /**
+     * Run the scheduled sweep. The admin endpoint works either way.
+     */
+    private boolean enabled = false;
+
+    /**
+     * PENDING payments younger than this are left alone (checkout may still be open).
+     */
+    private Duration staleAfter = Duration.ofMinutes(30);
+
+    /**
+     * Unpaid orders older than this are closed as FAILED (attempted) or CANCELLED.
+     */
+    private Duration abandonAfter = Duration.ofHours(24);
+
+    /**
+     * Payments read per page.
+     */
+    private int pageSize = 200;
+
+    /**
+     * Maximum concurrent provider lookups.
+     */
+    private int concurrency = 8;
+
+    /**
+     * Use the in-process fake provider instead of Razorpay.
+     */
+    private boolean fakeProvider = false;
+
+    /**
+     * Simulated latency of the fake provider, in milliseconds.
+     */
+    private long fakeLatencyMs = 50;
+
+    /**
+     * Share of orders the fake provider reports as paid.
+     */
+    private double fakePaidRatio = 0.5;
+}
@@ -0,0 +1,73 @@
+package com.omp.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.Tag;
+import com.mongodb.TagSet;
+
+/**
+ * Queries for analytics and reporting reads, which can be served from a
+ * few seconds behind: they carry {@code mongo.client.reporting}'s read
+ * preference, so on a replica set they go to (tagged) secondaries and
+ * leave the primary to the transactional traffic, and a server-side time
+ * limit. On a standalone server they run as usual.
+ */
+@Component
+public class ReportingReads {
+    private final ReadPreference readPreference;
+    private final long maxTimeMs;
+
+    public ReportingReads(MongoClientProperties properties) {
+        MongoClientProperties.Reporting reporting = properties.getReporting();
+        this.readPreference = readPreference(reporting);
+        this.maxTimeMs = reporting.getMaxTime().toMillis();
+    }
+
+    public Query query() {
+        return route(new Query());
+    }
+
+    public Query query(Criteria criteria) {
+        return route(Query.query(criteria));
+    }
+
+    private Query route(Query query) {
+        query.withReadPreference(readPreference);
+        if (maxTimeMs > 0) {
+            query.maxTimeMsec(maxTimeMs);
+        }
+        return query;
+    }
+
+    private static ReadPreference readPreference(MongoClientProperties.Reporting reporting) {
+        List<TagSet> tagSets = new ArrayList<>();
+        if (!reporting.getTags().isEmpty()) {
+            List<Tag> tags = new ArrayList<>();
+            for (String tag : reporting.getTags()) {
+                int colon = tag.indexOf(':');
+                if (colon <= 0 || colon == tag.length() - 1) {
+                    throw new IllegalArgumentException(
+                            "mongo.client.reporting.tags entries must be name:value, got '" + tag + "'");
+                }
+                tags.add(new Tag(tag.substring(0, colon).trim(), tag.substring(colon + 1).trim()));
+            }
+            tagSets.add(new TagSet(tags));
+            // No tagged member available: any secondary still beats the primary
+            tagSets.add(new TagSet());
+        }
+        long maxStalenessMs = reporting.getMaxStaleness().toMillis();
+        if (maxStalenessMs > 0) {
+            return ReadPreference.valueOf(reporting.getReadPreference(), tagSets, maxStalenessMs,
+                    TimeUnit.MILLISECONDS);
+        }
+        return tagSets.isEmpty() ? ReadPreference.valueOf(reporting.getReadPreference())
+                : ReadPreference.valueOf(reporting.getReadPreference(), tagSets);
+    }
+}
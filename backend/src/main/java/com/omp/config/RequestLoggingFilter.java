@@ -0,0 +1,112 @@
+package com.omp.config;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Puts the request id, method and path in the MDC for everything logged
+ * while the request runs (the JWT filter adds the user id), echoes the id
+ * as {@code X-Request-Id}, and writes one access line per request to the
+ * {@code com.omp.access} logger, which is rate limited like any other
+ * category (see logback-spring.xml). For streamed responses the access
+ * line is written when the stream completes. What the limiter drops is counted as
+ * {@code logging.events.dropped}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLoggingFilter extends OncePerRequestFilter implements MeterBinder {
+    public static final String REQUEST_ID = "requestId";
+    public static final String USER_ID = "userId";
+    private static final String HEADER = "X-Request-Id";
+    private static final Logger access = LoggerFactory.getLogger("com.omp.access");
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("logging.events.dropped", LogRateLimiter.class, c -> LogRateLimiter.dropped())
+                .description("Log events over their category's rate limit")
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String requestId = request.getHeader(HEADER);
+        if (requestId == null || requestId.isBlank() || requestId.length() > 64) {
+            requestId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        }
+        MDC.put(REQUEST_ID, requestId);
+        MDC.put("method", request.getMethod());
+        MDC.put("path", request.getRequestURI());
+        response.setHeader(HEADER, requestId);
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                Map<String, String> context = MDC.getCopyOfContextMap();
+                request.getAsyncContext().addListener(new AccessOnComplete(context, started), request, response);
+            } else {
+                logAccess(request, response, started);
+            }
+            MDC.clear();
+        }
+    }
+
+    private static void logAccess(HttpServletRequest request, HttpServletResponse response, long started) {
+        if (access.isInfoEnabled()) {
+            long tookMs = (System.nanoTime() - started) / 1_000_000;
+            MDC.put("status", String.valueOf(response.getStatus()));
+            MDC.put("durationMs", String.valueOf(tookMs));
+            access.info("{} {} {} {}ms", request.getMethod(), request.getRequestURI(), response.getStatus(), tookMs);
+        }
+    }
+
+    // Runs on whichever thread finishes the stream, so the request's MDC is restored for the line
+    private record AccessOnComplete(Map<String, String> context, long started) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            try {
+                logAccess((HttpServletRequest) event.getSuppliedRequest(),
+                        (HttpServletResponse) event.getSuppliedResponse(), started);
+            } finally {
+                MDC.clear();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.omp.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Times every public call into a {@code com.omp.service} bean as
+ * {@code service.calls{service, method, outcome}}. Repository calls are
+ * timed by Spring Data ({@code spring.data.repository.invocations}) and the
+ * Mongo commands behind both by the driver listener
+ * ({@code mongodb.driver.commands}). Calls a service makes on itself are not
+ * proxied, so only entry points show up. A call returning a {@link Flux}
+ * is timed from subscription until the stream ends, not just while the
+ * pipeline is assembled. The error timer of a method is registered on its
+ * first failure, so methods that never fail export only their success series.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetrics {
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<Method, Timers> timers = new ConcurrentHashMap<>();
+
+    @Around("within(com.omp.service..*) && execution(public * *(..))"
+            + " && !execution(* io.micrometer.core.instrument.binder.MeterBinder.bindTo(..))")
+    public Object time(ProceedingJoinPoint call) throws Throwable {
+        Timers timer = timers.computeIfAbsent(((MethodSignature) call.getSignature()).getMethod(), this::timers);
+        long started = System.nanoTime();
+        try {
+            Object result = call.proceed();
+            if (result instanceof Flux<?> flux) {
+                return Flux.defer(() -> {
+                    long subscribed = System.nanoTime();
+                    return flux.doFinally(signal -> (signal == SignalType.ON_ERROR ? timer.error() : timer.success())
+                            .record(System.nanoTime() - subscribed, TimeUnit.NANOSECONDS));
+                });
+            }
+            timer.success().record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            timer.error().record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    // Resolved once per method; the builder lookup is too slow for every call
+    private Timers timers(Method method) {
+        String service = method.getDeclaringClass().getSimpleName();
+        return new Timers(service, method.getName(), timer(service, method.getName(), "success"));
+    }
+
+    private Timer timer(String service, String method, String outcome) {
+        return Timer.builder("service.calls")
+                .tag("service", service)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private final class Timers {
+        private final String service;
+        private final String method;
+        private final Timer success;
+        private volatile Timer error;
+
+        Timers(String service, String method, Timer success) {
+            this.service = service;
+            this.method = method;
+            this.success = success;
+        }
+
+        Timer success() {
+            return success;
+        }
+
+        // Registering twice on a race is harmless: the registry hands back the same timer
+        Timer error() {
+            Timer timer = error;
+            if (timer == null) {
+                timer = timer(service, method, "error");
+                error = timer;
+            }
+            return timer;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.omp.config;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+/**
+ * Threads for work the services fan out themselves, as opposed to what
+ * Tomcat and Spring's task executors run. They follow
+ * {@code spring.threads.virtual.enabled}, so switching virtual threads on
+ * moves the fan-outs over with the request threads.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    // Boot's task executor and scheduler are ThreadFactory beans too; injecting by type gets this one
+    @Bean
+    @Primary
+    public ThreadFactory fanOutThreadFactory(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Thread.ofVirtual().name("fanout-", 0).factory();
+        }
+        return Thread.ofPlatform().name("fanout-", 0).daemon(true).factory();
+    }
+}
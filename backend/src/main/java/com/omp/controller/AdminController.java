@@ -23,9 +23,12 @@ import org.springframework.web.multipart.MultipartFile;
 import com.omp.dto.CourseDTO;
 import com.omp.dto.MentorDTO;
 import com.omp.dto.ModuleDTO;
+import com.omp.dto.ReconciliationReport;
 import com.omp.dto.UserDTO;
+import com.omp.entity.Role;
 import com.omp.service.AdminService;
 import com.omp.service.FileStorageService;
+import com.omp.service.PaymentReconciliationService;
 
 import jakarta.validation.Valid;
 
@@ -38,18 +41,29 @@ public class AdminController {
     private final AdminService adminService;
     private final FileStorageService fileStorageService;
     private final PasswordEncoder passwordEncoder;
+    private final PaymentReconciliationService paymentReconciliationService;
 
     public AdminController(AdminService adminService, FileStorageService fileStorageService,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder, PaymentReconciliationService paymentReconciliationService) {
         this.adminService = adminService;
         this.fileStorageService = fileStorageService;
         this.passwordEncoder = passwordEncoder;
+        this.paymentReconciliationService = paymentReconciliationService;
     }
 
     // User Management
+    // Lists return one keyset page when limit or cursor is given; without them the full list is kept for old clients
     @GetMapping("/users")
-    public List<UserDTO> getUsers() {
-        return adminService.getAllUsers();
+    public ResponseEntity<?> getUsers(@RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String sort) {
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(adminService.getAllUsers());
+        }
+        return ResponseEntity.ok(adminService.getUsersPage(role, active, q, sort, cursor, limit));
     }
 
     @PostMapping("/users")
@@ -88,8 +102,14 @@ public class AdminController {
 
     // Mentor Management
     @GetMapping("/mentors")
-    public List<MentorDTO> getMentors() {
-        return adminService.getAllMentors();
+    public ResponseEntity<?> getMentors(@RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String sort) {
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(adminService.getAllMentors());
+        }
+        return ResponseEntity.ok(adminService.getMentorsPage(q, sort, cursor, limit));
     }
 
     @PostMapping(value = "/mentors", consumes = { "multipart/form-data" })
@@ -113,10 +133,17 @@ public class AdminController {
 
     // Course Management
     @GetMapping("/courses")
-    public List<CourseDTO> getCourses() {
-        List<CourseDTO> courses = adminService.getAllCourses();
-        logger.info("Fetched {} courses for admin dashboard", courses.size());
-        return courses;
+    public ResponseEntity<?> getCourses(@RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String mentorId,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String sort) {
+        if (limit == null && cursor == null) {
+            List<CourseDTO> courses = adminService.getAllCourses();
+            logger.debug("Fetched {} courses for admin dashboard", courses.size());
+            return ResponseEntity.ok(courses);
+        }
+        return ResponseEntity.ok(adminService.getCoursesPage(mentorId, q, sort, cursor, limit));
     }
 
     @PostMapping("/courses")
@@ -180,26 +207,43 @@ public class AdminController {
     }
 
     @GetMapping("/modules")
-    public List<ModuleDTO> getModules() {
-        List<ModuleDTO> modules = adminService.getAllModules();
-        logger.info("Fetched {} modules for admin dashboard", modules.size());
-        return modules;
+    public ResponseEntity<?> getModules(@RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String courseId,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String sort) {
+        if (limit == null && cursor == null) {
+            List<ModuleDTO> modules = adminService.getAllModules();
+            logger.debug("Fetched {} modules for admin dashboard", modules.size());
+            return ResponseEntity.ok(modules);
+        }
+        return ResponseEntity.ok(adminService.getModulesPage(courseId, q, sort, cursor, limit));
     }
 
     @GetMapping("/analytics")
     public ResponseEntity<Map<String, Object>> getAnalytics() {
         Map<String, Object> stats = adminService.getComprehensiveAnalytics();
-        logger.info("Fetched comprehensive analytics: {}", stats);
+        logger.debug("Fetched comprehensive analytics: {}", stats);
         return ResponseEntity.ok(stats);
     }
 
     @GetMapping("/student-progress")
     public ResponseEntity<List<Map<String, Object>>> getStudentProgress() {
         List<Map<String, Object>> progress = adminService.getStudentProgress();
-        logger.info("Fetched student progress for {} students", progress.size());
+        logger.debug("Fetched student progress for {} students", progress.size());
         return ResponseEntity.ok(progress);
     }
 
+    @PostMapping("/student-progress/repair")
+    public ResponseEntity<Map<String, Object>> repairStudentProgress() {
+        return ResponseEntity.ok(adminService.repairProgressCounters());
+    }
+
+    @PostMapping("/payments/reconcile")
+    public ResponseEntity<ReconciliationReport> reconcilePayments() {
+        return ResponseEntity.ok(paymentReconciliationService.reconcile());
+    }
+
     @GetMapping("/test-auth")
     public ResponseEntity<String> testAuth() {
         logger.info("Admin auth test endpoint accessed");
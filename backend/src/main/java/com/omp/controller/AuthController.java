@@ -25,6 +25,7 @@ import com.omp.dto.RegisterRequest;
 import com.omp.dto.UserDTO;
 import com.omp.entity.User;
 import com.omp.repository.UserRepository;
+import com.omp.service.CurrentUserService;
 import com.omp.service.EmailService;
 import com.omp.service.UserService;
 
@@ -41,6 +42,7 @@ public class AuthController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final CurrentUserService currentUserService;
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request,
@@ -54,7 +56,7 @@ public class AuthController {
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletResponse response) {
         AuthResponse authResponse = userService.login(request);
         setAuthCookies(response, authResponse);
-        logger.info("Login successful for user: {}, cookies set", authResponse.getEmail());
+        logger.debug("Login successful, cookies set");
         return ResponseEntity.ok(authResponse);
     }
 
@@ -94,8 +96,7 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
         }
         try {
-            var user = userRepository.findByEmail(principal.getName())
-                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
+            var user = currentUserService.resolve(principal);
             UserDTO dto = new UserDTO();
             dto.setId(user.getId());
             dto.setName(user.getName());
@@ -119,20 +120,14 @@ public class AuthController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
             }
 
-            var user = userRepository.findByEmail(principal.getName())
-                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
+            var user = currentUserService.resolve(principal);
 
-            // Update name if provided
-            if (request.containsKey("name") && request.get("name") != null) {
-                user.setName((String) request.get("name"));
-            }
-
-            // Update password if provided
-            if (request.containsKey("password") && request.get("password") != null) {
-                user.setPassword(passwordEncoder.encode((String) request.get("password")));
-            }
-
-            User savedUser = userRepository.save(user);
+            // Only the provided fields are written, in one atomic update
+            String name = (String) request.get("name");
+            String password = (String) request.get("password");
+            User savedUser = userService.updateProfile(user.getId(),
+                    name, password == null ? null : passwordEncoder.encode(password));
+            currentUserService.invalidate(user.getEmail());
 
             // Generate new token with updated user info
             String newToken = userService.generateNewToken(savedUser);
@@ -203,11 +198,8 @@ public class AuthController {
                     .body(Map.of("message", "Password must be at least 6 characters long"));
             }
 
-            // Find user with the reset token
-            var users = userRepository.findAll();
-            var userOpt = users.stream()
-                .filter(u -> token.equals(u.getResetToken()))
-                .findFirst();
+            // Find user with the reset token (indexed)
+            var userOpt = userRepository.findByResetToken(token);
 
             if (userOpt.isEmpty()) {
                 return ResponseEntity.badRequest()
@@ -4,17 +4,25 @@ import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.omp.config.QueryBudget;
+import com.omp.dto.CatalogSuggestion;
 import com.omp.dto.CourseDTO;
+import com.omp.dto.CourseSearchHit;
 import com.omp.dto.ModuleDTO;
+import com.omp.service.CatalogSearchService;
+import com.omp.service.CatalogStreamService;
 import com.omp.service.CourseService;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
 
 @RestController
 @RequestMapping("/api/courses")
@@ -22,23 +30,47 @@ import lombok.RequiredArgsConstructor;
 public class CourseController {
     private static final Logger logger = LoggerFactory.getLogger(CourseController.class);
     private final CourseService courseService;
+    private final CatalogSearchService catalogSearchService;
+    private final CatalogStreamService catalogStreamService;
 
     @GetMapping
     public List<CourseDTO> getAllCourses() {
         return courseService.getAllCourses();
     }
 
+    // Same courses, one JSON object per line as they are read (Accept: application/x-ndjson)
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CourseDTO> streamAllCourses() {
+        return catalogStreamService.courses();
+    }
+
+    // Ranked full-text search; answered from the in-memory index
+    @GetMapping("/search")
+    @QueryBudget(commands = 1)
+    public List<CourseSearchHit> search(@RequestParam("q") String q,
+            @RequestParam(required = false) Integer limit) {
+        return catalogSearchService.search(q, limit);
+    }
+
+    // Typeahead over course titles and mentor names, for every keystroke
+    @GetMapping("/suggest")
+    @QueryBudget(commands = 1)
+    public List<CatalogSuggestion> suggest(@RequestParam("q") String q,
+            @RequestParam(required = false) Integer limit) {
+        return catalogSearchService.suggest(q, limit);
+    }
+
+    // Course, mentor and mentor's user
     @GetMapping("/{id}")
+    @QueryBudget(commands = 4)
     public CourseDTO getCourseDetails(@PathVariable String id) {
         return courseService.getCourseDetails(id);
     }
 
     @GetMapping("/{id}/modules")
     public List<ModuleDTO> getModuleTitles(@PathVariable String id) {
-        logger.info("Fetching modules for course ID: {}", id);
         try {
             List<ModuleDTO> modules = courseService.getModuleTitlesForCourse(id);
-            logger.info("Found {} modules for course ID: {}", modules.size(), id);
             return modules;
         } catch (Exception e) {
             logger.error("Error fetching modules for course ID {}: {}", id, e.getMessage(), e);
@@ -46,6 +78,11 @@ public class CourseController {
         }
     }
 
+    @GetMapping(value = "/{id}/modules", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ModuleDTO> streamModuleTitles(@PathVariable String id) {
+        return catalogStreamService.modules(id);
+    }
+
     @GetMapping("/test")
     public ResponseEntity<String> testEndpoint() {
         logger.info("Test endpoint accessed");
@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+// Process is up, nothing more; readiness (Mongo, uploads, threads) is /actuator/health/readiness
 @RestController
 @RequestMapping("/api/health")
 public class HealthController {
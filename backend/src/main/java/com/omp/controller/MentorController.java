@@ -2,6 +2,7 @@ package com.omp.controller;
 
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -9,15 +10,18 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.omp.dto.MentorDTO;
+import com.omp.service.CatalogStreamService;
 import com.omp.service.MentorService;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
 
 @RestController
 @RequestMapping("/api/mentors")
 @RequiredArgsConstructor
 public class MentorController {
     private final MentorService mentorService;
+    private final CatalogStreamService catalogStreamService;
 
     @GetMapping
     public ResponseEntity<List<MentorDTO>> getAllMentors() {
@@ -25,6 +29,12 @@ public class MentorController {
         return ResponseEntity.ok(mentors);
     }
 
+    // One JSON object per line, with the same counts (Accept: application/x-ndjson)
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MentorDTO> streamAllMentors() {
+        return catalogStreamService.mentors();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<MentorDTO> getMentorById(@PathVariable String id) {
         MentorDTO mentor = mentorService.getMentorById(id);
@@ -10,20 +10,23 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.omp.config.RazorpayProperties;
+import com.omp.dto.CourseAccessDTO;
 import com.omp.dto.PaymentDTO;
 import com.omp.dto.RazorpayOrderRequest;
 import com.omp.dto.RazorpayVerifyRequest;
-import com.omp.entity.User;
+import com.omp.security.UserSnapshot;
+import com.omp.service.CourseAccessService;
+import com.omp.service.CurrentUserService;
 import com.omp.service.PaymentService;
+import com.omp.service.RazorpayOrderService;
 import com.omp.service.RazorpayService;
 import com.omp.service.StudentService;
-import com.omp.service.UserService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -34,9 +37,10 @@ public class PaymentController {
     private static final Logger logger = LoggerFactory.getLogger(PaymentController.class);
     private final PaymentService paymentService;
     private final RazorpayService razorpayService;
-    private final RazorpayProperties razorpayProperties;
+    private final RazorpayOrderService razorpayOrderService;
     private final StudentService studentService;
-    private final UserService userService;
+    private final CourseAccessService courseAccessService;
+    private final CurrentUserService currentUserService;
 
     @PostMapping("/initiate/{courseId}")
     public ResponseEntity<PaymentDTO> initiatePayment(
@@ -48,11 +52,13 @@ public class PaymentController {
         return ResponseEntity.ok(payment);
     }
 
-    // Razorpay: create order
+    // Razorpay: create order (idempotent per user/course; honours Idempotency-Key)
     @PostMapping("/razorpay/order")
-    public ResponseEntity<?> createRazorpayOrder(@RequestBody RazorpayOrderRequest req, Principal principal) {
+    public ResponseEntity<?> createRazorpayOrder(@RequestBody RazorpayOrderRequest req,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Principal principal) {
         try {
-            logger.info("Creating Razorpay order for course: {}", req.getCourseId());
+            logger.debug("Creating Razorpay order for course: {}", req.getCourseId());
 
             // Validate principal
             if (principal == null) {
@@ -61,7 +67,6 @@ public class PaymentController {
             }
 
             String userId = getUserId(principal);
-            logger.info("User ID: {}", userId);
 
             // Validate courseId
             if (req.getCourseId() == null || req.getCourseId().isEmpty()) {
@@ -69,28 +74,9 @@ public class PaymentController {
                 return ResponseEntity.badRequest().body(Map.of("error", "Course ID is required"));
             }
 
-            // Use course price if amount not supplied
-            if (req.getAmountPaise() <= 0) {
-                logger.info("Amount not provided, fetching from course");
-                PaymentDTO draft = paymentService.initiatePayment(userId, req.getCourseId(), "RAZORPAY");
-                long paise = Math.round(draft.getAmount() * 100);
-                req.setAmountPaise(paise);
-                logger.info("Amount set to: {} paise", paise);
-            }
-
-            // Generate receipt within Razorpay's 40 char limit
-            // Format: rcpt_<first8ofuserid>_<first8ofcourseid>_<timestamp>
-            String shortUserId = userId.substring(0, Math.min(8, userId.length()));
-            String shortCourseId = req.getCourseId().substring(0, Math.min(8, req.getCourseId().length()));
-            String receipt = "rcpt_" + shortUserId + "_" + shortCourseId;
-            logger.info("Generated receipt (length {}): {}", receipt.length(), receipt);
-
-            Map<String, Object> order = razorpayService.createOrder(req.getAmountPaise(),
-                    req.getCurrency() == null ? "INR" : req.getCurrency(),
-                    receipt,
-                    true);
-            order.put("keyId", razorpayProperties.getKeyId());
-            logger.info("Order created successfully: {}", order.get("id"));
+            Map<String, Object> order = razorpayOrderService.openOrder(userId, req.getCourseId(),
+                    req.getAmountPaise(), req.getCurrency(), idempotencyKey);
+            logger.debug("Order ready: {}", order.get("id"));
             return ResponseEntity.ok(order);
         } catch (Exception e) {
             logger.error("Failed to create Razorpay order", e);
@@ -109,16 +95,26 @@ public class PaymentController {
             if (!ok) {
                 return ResponseEntity.badRequest().body(Map.of("error", "Invalid signature"));
             }
-            PaymentDTO payment = paymentService.completePaymentByCourse(userId, req.getCourseId(),
-                    req.getPaymentMethod(), "COMPLETED");
+            // Complete the payment behind this order; the webhook consumer may already have done so
+            PaymentDTO payment = paymentService.completeByProviderOrder(req.getRazorpayOrderId(),
+                    req.getRazorpayPaymentId());
+            if (payment != null && !userId.equals(payment.getUserId())) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Order does not belong to this user"));
+            }
+            if (payment == null) {
+                // Orders created before order ids were stored on payments
+                payment = paymentService.completePaymentByCourse(userId, req.getCourseId(),
+                        req.getPaymentMethod(), "COMPLETED");
+            }
 
             // Auto-enroll student after successful payment
             try {
-                studentService.enroll(userId, req.getCourseId());
-                logger.info("Student {} successfully enrolled in course {} after payment", userId, req.getCourseId());
+                studentService.enroll(userId, payment.getCourseId());
+                logger.info("Student {} successfully enrolled in course {} after payment", userId, payment.getCourseId());
             } catch (IllegalArgumentException e) {
                 // Student might already be enrolled, log but don't fail
-                logger.warn("Student {} already enrolled in course {}: {}", userId, req.getCourseId(), e.getMessage());
+                logger.warn("Student {} already enrolled in course {}: {}", userId, payment.getCourseId(),
+                        e.getMessage());
             }
 
             return ResponseEntity.ok(Map.of("success", true, "payment", payment));
@@ -171,14 +167,13 @@ public class PaymentController {
     @GetMapping("/test")
     public ResponseEntity<?> testEndpoint(Principal principal) {
         try {
-            logger.info("Test endpoint called with principal: {}", principal);
+            logger.debug("Test endpoint called");
             if (principal == null) {
                 return ResponseEntity.badRequest().body("No principal found");
             }
             String userEmail = principal.getName();
-            logger.info("User email: {}", userEmail);
-            User user = userService.findByEmail(userEmail);
-            logger.info("Found user: {}", user.getId());
+            UserSnapshot user = currentUserService.resolve(principal);
+            logger.debug("Found user: {}", user.getId());
             return ResponseEntity.ok(Map.of("userId", user.getId(), "email", userEmail));
         } catch (Exception e) {
             logger.error("Error in test endpoint: {}", e.getMessage(), e);
@@ -186,19 +181,15 @@ public class PaymentController {
         }
     }
 
+    // Polled by the course pages: answered from the entitlement cache or one aggregation
     @GetMapping("/check/{courseId}")
     public ResponseEntity<?> checkPaymentStatus(
             @PathVariable String courseId,
             Principal principal) {
         try {
-            logger.info("Checking payment status for courseId: {}, principal: {}", courseId, principal);
             String userId = getUserId(principal);
-            logger.info("User ID: {}", userId);
-            boolean hasPaid = paymentService.hasUserPaidForCourse(userId, courseId);
-            PaymentDTO payment = paymentService.getPaymentByUserAndCourse(userId, courseId);
-            logger.info("Payment status - hasPaid: {}, payment: {}", hasPaid, payment);
-
-            return ResponseEntity.ok(new PaymentStatusResponse(hasPaid, payment));
+            CourseAccessDTO access = courseAccessService.getAccess(userId, courseId);
+            return ResponseEntity.ok(access);
         } catch (Exception e) {
             logger.error("Error checking payment status: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().body("Error checking payment status: " + e.getMessage());
@@ -207,40 +198,10 @@ public class PaymentController {
 
     private String getUserId(Principal principal) {
         try {
-            String userEmail = principal.getName();
-            logger.info("Principal name: {}", userEmail);
-            User user = userService.findByEmail(userEmail);
-            logger.info("Found user: {}", user.getId());
-            return user.getId();
+            return currentUserService.userId(principal);
         } catch (Exception e) {
             logger.error("Error getting user ID from principal: {}", e.getMessage(), e);
             throw e;
         }
     }
-
-    public static class PaymentStatusResponse {
-        private boolean hasPaid;
-        private PaymentDTO payment;
-
-        public PaymentStatusResponse(boolean hasPaid, PaymentDTO payment) {
-            this.hasPaid = hasPaid;
-            this.payment = payment;
-        }
-
-        public boolean isHasPaid() {
-            return hasPaid;
-        }
-
-        public void setHasPaid(boolean hasPaid) {
-            this.hasPaid = hasPaid;
-        }
-
-        public PaymentDTO getPayment() {
-            return payment;
-        }
-
-        public void setPayment(PaymentDTO payment) {
-            this.payment = payment;
-        }
-    }
-}
\ No newline at end of file
+}
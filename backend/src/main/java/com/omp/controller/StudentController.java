@@ -9,16 +9,20 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.omp.dto.CourseDTO;
 import com.omp.dto.EnrollmentDTO;
 import com.omp.dto.ModuleDTO;
+import com.omp.dto.ProgressSyncRequest;
+import com.omp.dto.ProgressSyncResult;
 import com.omp.dto.UserDTO;
-import com.omp.repository.UserRepository;
+import com.omp.service.CurrentUserService;
 import com.omp.service.StudentService;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -27,12 +31,11 @@ import lombok.RequiredArgsConstructor;
 @PreAuthorize("hasRole('STUDENT')")
 public class StudentController {
     private final StudentService studentService;
-    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
 
-    // Helper to get userId from Principal (email)
+    // Helper to get userId from Principal (resolved by the JWT filter)
     private String getUserId(Principal principal) {
-        return userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new IllegalArgumentException("User not found")).getId();
+        return currentUserService.userId(principal);
     }
 
     @PostMapping("/enroll/{courseId}")
@@ -66,6 +69,13 @@ public class StudentController {
         return studentService.markModuleComplete(userId, courseId, moduleId);
     }
 
+    // Batch form of the endpoint above for clients that sync completions made offline
+    @PostMapping("/progress/sync")
+    public ProgressSyncResult syncProgress(@Valid @RequestBody ProgressSyncRequest request, Principal principal) {
+        String userId = getUserId(principal);
+        return studentService.syncCompletions(userId, request.getCompletions());
+    }
+
     @GetMapping("/courses/{courseId}/progress")
     public ResponseEntity<Object> getProgress(@PathVariable String courseId, Principal principal) {
         try {
@@ -128,8 +138,7 @@ public class StudentController {
 
     @GetMapping("/profile")
     public UserDTO getProfile(Principal principal) {
-        var user = userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        var user = currentUserService.resolve(principal);
         UserDTO dto = new UserDTO();
         dto.setId(user.getId());
         dto.setName(user.getName());
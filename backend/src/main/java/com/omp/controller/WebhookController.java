@@ -0,0 +1,48 @@
+package com.omp.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.omp.service.RazorpayService;
+import com.omp.service.WebhookInboxService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/webhooks")
+@RequiredArgsConstructor
+public class WebhookController {
+    private static final Logger logger = LoggerFactory.getLogger(WebhookController.class);
+    private final RazorpayService razorpayService;
+    private final WebhookInboxService webhookInboxService;
+
+    // Razorpay webhook: verify, append to the inbox and acknowledge; processing happens in the background
+    @PostMapping("/razorpay")
+    public ResponseEntity<?> razorpay(@RequestBody byte[] body,
+            @RequestHeader(value = "X-Razorpay-Signature", required = false) String signature,
+            @RequestHeader(value = "X-Razorpay-Event-Id", required = false) String eventId) {
+        if (!razorpayService.isWebhookConfigured()) {
+            return ResponseEntity.status(503).body(Map.of("error", "Webhook not configured"));
+        }
+        if (!razorpayService.verifyWebhookSignature(body, signature)) {
+            logger.warn("Rejected Razorpay webhook with invalid signature");
+            return ResponseEntity.status(401).body(Map.of("error", "Invalid signature"));
+        }
+        try {
+            boolean accepted = webhookInboxService.append(eventId != null ? eventId : signature,
+                    new String(body, StandardCharsets.UTF_8));
+            return ResponseEntity.ok(Map.of("received", true, "duplicate", !accepted));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
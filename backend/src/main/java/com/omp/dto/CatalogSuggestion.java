@@ -0,0 +1,15 @@
+package com.omp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogSuggestion {
+    // "course" or "mentor"
+    private String type;
+    private String id;
+    private String label;
+}
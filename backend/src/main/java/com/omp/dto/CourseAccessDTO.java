@@ -0,0 +1,17 @@
+package com.omp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseAccessDTO {
+    private boolean hasPaid;
+    private PaymentDTO payment;
+    private boolean enrolled;
+    private long completedModules;
+    private long totalModules;
+    private double progress; // 0-1, like /api/student/courses/{id}/progress
+}
@@ -0,0 +1,13 @@
+package com.omp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseSearchHit {
+    private CourseDTO course;
+    private double score;
+}
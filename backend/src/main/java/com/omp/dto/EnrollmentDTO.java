@@ -1,5 +1,6 @@
 package com.omp.dto;
 
+import java.time.LocalDateTime;
 import java.util.Set;
 
 import lombok.Data;
@@ -10,5 +11,9 @@ public class EnrollmentDTO {
     private String userId;
     private String courseId;
     private Set<String> completedModules;
+    private Integer completedCount;
+    private Double percentComplete; // 0-100
+    private LocalDateTime completedAt;
+    private Double progress; // 0-1, set where it is known without extra reads
     private String certificateUrl;
 }
\ No newline at end of file
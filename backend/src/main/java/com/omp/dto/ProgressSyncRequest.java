@@ -0,0 +1,26 @@
+package com.omp.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class ProgressSyncRequest {
+    @NotEmpty(message = "At least one completion is required")
+    @Size(max = 500, message = "At most 500 completions per sync")
+    private List<@Valid Completion> completions;
+
+    @Data
+    public static class Completion {
+        @NotBlank
+        private String courseId;
+        @NotBlank
+        private String moduleId;
+        private LocalDateTime completedAt; // client time; optional
+    }
+}
@@ -0,0 +1,24 @@
+package com.omp.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressSyncResult {
+    private List<EnrollmentDTO> enrollments; // one per synced course, with progress set
+    private List<Rejected> rejected;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rejected {
+        private String courseId;
+        private String moduleId;
+        private String reason;
+    }
+}
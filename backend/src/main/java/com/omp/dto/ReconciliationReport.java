@@ -0,0 +1,15 @@
+package com.omp.dto;
+
+import lombok.Data;
+
+@Data
+public class ReconciliationReport {
+    private long scanned;
+    private long completed;
+    private long failed;
+    private long cancelled;
+    private long unchanged;
+    private long errors;
+    private long elapsedMs;
+    private double paymentsPerSecond;
+}
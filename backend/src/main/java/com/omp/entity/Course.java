@@ -32,4 +32,7 @@ public class Course {
 
     // Optional denormalized list of module ids
     private List<String> moduleIds;
+
+    // Maintained by module create/delete; null on courses written before it existed
+    private Integer moduleCount;
 }
\ No newline at end of file
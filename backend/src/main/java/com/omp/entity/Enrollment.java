@@ -1,5 +1,6 @@
 package com.omp.entity;
 
+import java.time.LocalDateTime;
 import java.util.Set;
 
 import org.springframework.data.annotation.Id;
@@ -26,5 +27,12 @@ public class Enrollment {
 
     private Set<String> completedModules; // module IDs
 
+    // Progress counters, maintained atomically by module completion and module CRUD
+    private Integer completedCount;
+
+    private Double percentComplete; // 0-100
+
+    private LocalDateTime completedAt;
+
     private String certificateUrl;
 }
\ No newline at end of file
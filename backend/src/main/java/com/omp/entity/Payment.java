@@ -35,6 +35,19 @@ public class Payment {
 
     private String paymentProofUrl;
 
+    // Razorpay order bookkeeping so retries reuse the same remote order
+    private String idempotencyKey;
+
+    private String providerOrderId;
+
+    private String providerPaymentId;
+
+    private String receipt;
+
+    private Long amountPaise;
+
+    private String currency;
+
     public enum PaymentStatus {
         PENDING, COMPLETED, FAILED, CANCELLED
     }
@@ -0,0 +1,46 @@
+package com.omp.entity;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Document(collection = "webhook_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookEvent {
+    // Provider event id, so redelivered events collapse onto one document
+    @Id
+    private String id;
+
+    private String eventType;
+
+    private String providerOrderId;
+
+    private String providerPaymentId;
+
+    private String payload;
+
+    private WebhookStatus status;
+
+    private int attempts;
+
+    private String lastError;
+
+    private LocalDateTime receivedAt;
+
+    private LocalDateTime claimedAt;
+
+    private LocalDateTime processedAt;
+
+    public enum WebhookStatus {
+        RECEIVED, PROCESSING, PROCESSED, IGNORED, FAILED
+    }
+}
@@ -0,0 +1,57 @@
+package com.omp.health;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import com.omp.config.HealthProbeProperties;
+
+/**
+ * Runs {@link #check()} at most once per {@code health.probes.cache-ttl};
+ * probes in between get the last answer. Concurrent probes on an expired
+ * entry wait for the one check in progress rather than each running it.
+ * The wait is on a lock rather than a monitor, so a probe on a virtual
+ * thread does not pin its carrier for the length of a slow check.
+ */
+abstract class CachedHealthIndicator implements HealthIndicator {
+    private final HealthProbeProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Health last;
+    private volatile long checkedAt;
+
+    protected CachedHealthIndicator(HealthProbeProperties properties) {
+        this.properties = properties;
+    }
+
+    protected abstract Health check();
+
+    @Override
+    public Health health() {
+        Health cached = last;
+        if (cached != null && !expired()) {
+            return cached;
+        }
+        lock.lock();
+        try {
+            if (last == null || expired()) {
+                Health health;
+                try {
+                    health = check();
+                } catch (RuntimeException e) {
+                    health = Health.down(e).build();
+                }
+                last = health;
+                checkedAt = System.nanoTime();
+            }
+            return last;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean expired() {
+        return System.nanoTime() - checkedAt >= properties.getCacheTtl().toNanos();
+    }
+}
@@ -0,0 +1,35 @@
+package com.omp.health;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import com.omp.service.CircuitBreaker;
+import com.omp.service.EmailService;
+import com.omp.service.RazorpayService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Circuit state of the outbound providers. Always UP: when Razorpay or
+ * SMTP is down it is down for every node, so taking this one out of
+ * rotation would not help. Reads in-memory state, so it is not cached.
+ */
+@Component
+@RequiredArgsConstructor
+public class CircuitsHealthIndicator implements HealthIndicator {
+    private final RazorpayService razorpayService;
+    private final EmailService emailService;
+
+    @Override
+    public Health health() {
+        Health.Builder health = Health.up();
+        for (CircuitBreaker circuit : List.of(razorpayService.getCircuitBreaker(), emailService.getCircuitBreaker())) {
+            health.withDetail(circuit.getName(), circuit.getState().name())
+                    .withDetail(circuit.getName() + "ConsecutiveFailures", circuit.getConsecutiveFailures());
+        }
+        return health.build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.omp.health;
+
+import java.util.concurrent.Executor;
+
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import com.omp.config.HealthProbeProperties;
+
+/**
+ * Request and scheduler thread usage, for the health details only: it is
+ * not part of the readiness group, and always UP. {@code saturated} is set
+ * while every request thread is busy and requests are queueing; taking the
+ * node out of rotation then would only pile its load onto the others.
+ */
+@Component
+public class ExecutorsHealthIndicator extends CachedHealthIndicator {
+    private final ApplicationContext context;
+    private final ObjectProvider<ThreadPoolTaskScheduler> taskScheduler;
+    private final HealthProbeProperties properties;
+
+    public ExecutorsHealthIndicator(ApplicationContext context, ObjectProvider<ThreadPoolTaskScheduler> taskScheduler,
+            HealthProbeProperties properties) {
+        super(properties);
+        this.context = context;
+        this.taskScheduler = taskScheduler;
+        this.properties = properties;
+    }
+
+    @Override
+    protected Health check() {
+        Health.Builder health = Health.up();
+        if (requestExecutor() instanceof ThreadPoolExecutor pool) {
+            int busy = pool.getActiveCount();
+            int max = pool.getMaximumPoolSize();
+            int queued = pool.getQueue().size();
+            health.withDetail("requestThreadsBusy", busy)
+                    .withDetail("requestThreadsMax", max)
+                    .withDetail("requestsQueued", queued);
+            health.withDetail("saturated", queued > 0 && busy >= max * properties.getExecutorSaturation());
+        } else {
+            // Virtual threads, or not running in Tomcat
+            health.withDetail("requestThreads", "unbounded");
+        }
+        ThreadPoolTaskScheduler scheduler = taskScheduler.getIfAvailable();
+        if (scheduler != null) {
+            health.withDetail("schedulerThreadsBusy", scheduler.getActiveCount())
+                    .withDetail("schedulerThreads", scheduler.getPoolSize());
+        }
+        return health.build();
+    }
+
+    private Executor requestExecutor() {
+        if (context instanceof WebServerApplicationContext web && web.getWebServer() instanceof TomcatWebServer tomcat) {
+            return tomcat.getTomcat().getConnector().getProtocolHandler().getExecutor();
+        }
+        return null;
+    }
+}
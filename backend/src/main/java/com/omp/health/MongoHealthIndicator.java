@@ -0,0 +1,99 @@
+package com.omp.health;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.bson.Document;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.connection.ClusterDescription;
+import com.mongodb.connection.ServerDescription;
+import com.omp.config.HealthProbeProperties;
+import com.omp.config.MongoIndexCatalog;
+
+/**
+ * Mongo as the driver sees it, then a ping through the pool. The cluster
+ * description is in memory, so a node with no reachable primary answers
+ * DOWN at once instead of waiting out server selection. The ping runs on
+ * a thread of its own and the probe waits at most
+ * {@code health.probes.mongo-timeout} for it: {@code maxTimeMS} only bounds
+ * the time spent on the server, not a stalled socket or pool checkout.
+ * Replaces Spring Boot's indicator of the same name.
+ */
+@Component
+public class MongoHealthIndicator extends CachedHealthIndicator implements DisposableBean {
+    private final MongoClient mongoClient;
+    private final MongoTemplate mongoTemplate;
+    private final MongoIndexCatalog indexCatalog;
+    private final HealthProbeProperties properties;
+    private final ExecutorService pinger = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("mongo-health").daemon(true).factory());
+
+    // A ping still stuck from an earlier probe; waited on again rather than queueing another
+    private Future<?> inFlight;
+
+    public MongoHealthIndicator(MongoClient mongoClient, MongoTemplate mongoTemplate, MongoIndexCatalog indexCatalog,
+            HealthProbeProperties properties) {
+        super(properties);
+        this.mongoClient = mongoClient;
+        this.mongoTemplate = mongoTemplate;
+        this.indexCatalog = indexCatalog;
+        this.properties = properties;
+    }
+
+    @Override
+    protected Health check() {
+        ClusterDescription cluster = mongoClient.getClusterDescription();
+        if (!cluster.hasWritableServer()) {
+            Health.Builder down = Health.down().withDetail("cluster", cluster.getType().name());
+            cluster.getServerDescriptions().stream()
+                    .filter(s -> s.getException() != null)
+                    .findFirst()
+                    .ifPresent(s -> down.withDetail("error", s.getException().getMessage()));
+            return down.build();
+        }
+
+        long timeoutMs = properties.getMongoTimeout().toMillis();
+        long started = System.nanoTime();
+        // check() runs under the cache's lock, so there is one probe here at a time
+        if (inFlight == null || inFlight.isDone()) {
+            inFlight = pinger.submit(() -> mongoTemplate.executeCommand(new Document("ping", 1)
+                    .append("maxTimeMS", timeoutMs)));
+        }
+        try {
+            inFlight.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return Health.down().withDetail("error", "ping timed out after " + timeoutMs + " ms").build();
+        } catch (ExecutionException e) {
+            return Health.down(e.getCause() instanceof Exception cause ? cause : e).build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Health.down(e).build();
+        }
+        long pingMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        Health.Builder up = Health.up()
+                .withDetail("pingMs", pingMs)
+                .withDetail("slow", pingMs >= properties.getMongoSlowAfter().toMillis())
+                .withDetail("indexDrift", indexCatalog.drift().size());
+        cluster.getServerDescriptions().stream()
+                .filter(ServerDescription::isPrimary)
+                .findFirst()
+                .map(ServerDescription::getRoundTripTimeNanos)
+                .ifPresent(rtt -> up.withDetail("heartbeatRttMs", TimeUnit.NANOSECONDS.toMillis(rtt)));
+        return up.build();
+    }
+
+    @Override
+    public void destroy() {
+        pinger.shutdownNow();
+    }
+}
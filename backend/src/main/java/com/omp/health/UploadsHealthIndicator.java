@@ -0,0 +1,49 @@
+package com.omp.health;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import com.omp.config.HealthProbeProperties;
+
+/**
+ * The upload directory (certificates, profile and course images) exists,
+ * accepts a file and has {@code health.probes.uploads-min-free} left.
+ * Covers Spring Boot's disk space indicator, which is switched off.
+ */
+@Component
+public class UploadsHealthIndicator extends CachedHealthIndicator {
+    private final Path uploadDir;
+    private final HealthProbeProperties properties;
+
+    public UploadsHealthIndicator(@Value("${file.upload-dir}") String uploadDir, HealthProbeProperties properties) {
+        super(properties);
+        this.uploadDir = Paths.get(uploadDir);
+        this.properties = properties;
+    }
+
+    @Override
+    protected Health check() {
+        try {
+            // A real write: isWritable() says yes on read-only mounts and full quotas
+            Files.createDirectories(uploadDir);
+            Path probe = Files.createTempFile(uploadDir, ".health", ".tmp");
+            Files.delete(probe);
+
+            long free = Files.getFileStore(uploadDir).getUsableSpace();
+            long minFree = properties.getUploadsMinFree().toBytes();
+            return (free >= minFree ? Health.up() : Health.down())
+                    .withDetail("path", uploadDir.toAbsolutePath().toString())
+                    .withDetail("freeBytes", free)
+                    .withDetail("minFreeBytes", minFree)
+                    .build();
+        } catch (IOException e) {
+            return Health.down(e).withDetail("path", uploadDir.toAbsolutePath().toString()).build();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.omp.repository;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
 
@@ -10,4 +11,28 @@ public interface CourseRepository extends MongoRepository<Course, String> {
     long countByMentorId(String mentorId);
 
     List<Course> findByMentorId(String mentorId);
+
+    // Projection: only the denormalized module count is read
+    Optional<ModuleCountRef> findModuleCountById(String id);
+
+    // Projection for list screens: the moduleIds list and counters are never read
+    List<CourseSummary> findSummariesBy();
+
+    interface CourseSummary {
+        String getId();
+
+        String getTitle();
+
+        String getDescription();
+
+        Double getPrice();
+
+        String getImageUrl();
+
+        String getMentorId();
+    }
+
+    interface ModuleCountRef {
+        Integer getModuleCount();
+    }
 }
\ No newline at end of file
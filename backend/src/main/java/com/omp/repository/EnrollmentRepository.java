@@ -1,5 +1,7 @@
 package com.omp.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
@@ -9,11 +11,16 @@ import com.omp.entity.Enrollment;
 public interface EnrollmentRepository extends MongoRepository<Enrollment, String> {
     Optional<Enrollment> findByUserIdAndCourseId(String userId, String courseId);
 
-    void deleteByCourseId(String courseId);
+    List<Enrollment> findByUserIdAndCourseIdIn(String userId, Collection<String> courseIds);
+
+    boolean existsByUserIdAndCourseId(String userId, String courseId);
 
-    long countDistinctByUserIdIsNotNull();
+    // Projection: only the course id of each enrollment is read
+    List<CourseRef> findCourseRefsByUserId(String userId);
 
-    long countByCertificateUrlIsNotNull();
+    void deleteByCourseId(String courseId);
 
-    long countByCertificateUrlIsNull();
+    interface CourseRef {
+        String getCourseId();
+    }
 }
\ No newline at end of file
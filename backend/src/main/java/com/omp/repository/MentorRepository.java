@@ -1,7 +1,29 @@
 package com.omp.repository;
 
-import com.omp.entity.Mentor;
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import com.omp.entity.Mentor;
+
 public interface MentorRepository extends MongoRepository<Mentor, String> {
-}
\ No newline at end of file
+    // Projections for list screens: the courseIds list is never read
+    List<MentorSummary> findSummariesBy();
+
+    List<MentorSummary> findSummariesByIdIn(Collection<String> ids);
+
+    List<MentorSummary> findSummariesByUserId(String userId);
+
+    interface MentorSummary {
+        String getId();
+
+        String getUserId();
+
+        String getExpertise();
+
+        String getBio();
+
+        String getImageUrl();
+    }
+}
@@ -1,6 +1,7 @@
 package com.omp.repository;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
 
@@ -13,4 +14,11 @@ public interface ModuleRepository extends MongoRepository<Module, String> {
     long countByCourseId(String courseId);
 
     List<Module> findByCourseId(String courseId);
+
+    // Projection: only the owning course id is read
+    Optional<CourseRef> findCourseRefById(String id);
+
+    interface CourseRef {
+        String getCourseId();
+    }
 }
\ No newline at end of file
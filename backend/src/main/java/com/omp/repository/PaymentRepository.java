@@ -1,5 +1,6 @@
 package com.omp.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +21,13 @@ public interface PaymentRepository extends MongoRepository<Payment, String> {
     List<Payment> findByCourseId(String courseId);
 
     boolean existsByUserIdAndCourseIdAndStatus(String userId, String courseId, PaymentStatus status);
+
+    Optional<Payment> findFirstByUserIdAndCourseIdAndStatusOrderByPaymentDateDesc(String userId, String courseId,
+            PaymentStatus status);
+
+    Optional<Payment> findByIdempotencyKey(String idempotencyKey);
+
+    Optional<Payment> findByProviderOrderId(String providerOrderId);
+
+    List<Payment> findByProviderOrderIdIn(Collection<String> providerOrderIds);
 }
\ No newline at end of file
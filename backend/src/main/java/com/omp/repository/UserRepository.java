@@ -1,14 +1,46 @@
 package com.omp.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import com.omp.entity.Role;
 import com.omp.entity.User;
 
 public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
 
     List<User> findAllByActive(boolean active);
+
+    Optional<User> findByResetToken(String resetToken);
+
+    // Projections for list screens: passwords and reset tokens are never read
+    List<UserSummary> findSummariesByRoleNot(Role role);
+
+    List<UserContact> findContactsByIdIn(Collection<String> ids);
+
+    interface UserSummary {
+        String getId();
+
+        String getName();
+
+        String getEmail();
+
+        Role getRole();
+
+        Boolean getActive();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    interface UserContact {
+        String getId();
+
+        String getName();
+
+        String getEmail();
+    }
 }
\ No newline at end of file
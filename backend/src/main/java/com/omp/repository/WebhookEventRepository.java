@@ -0,0 +1,15 @@
+package com.omp.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.omp.entity.WebhookEvent;
+import com.omp.entity.WebhookEvent.WebhookStatus;
+
+public interface WebhookEventRepository extends MongoRepository<WebhookEvent, String> {
+    List<WebhookEvent> findByStatusOrderByReceivedAtAsc(WebhookStatus status, Pageable pageable);
+
+    long countByStatus(WebhookStatus status);
+}
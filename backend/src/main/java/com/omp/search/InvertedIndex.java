@@ -0,0 +1,413 @@
+package com.omp.search;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index with weighted fields, prefix expansion of the
+ * last query term and single-edit typo tolerance (through a deletion
+ * neighbourhood, so no dictionary scan is needed). Documents are replaced
+ * or removed one at a time; readers never block each other.
+ *
+ * Documents get dense ordinals so postings are parallel int/float arrays
+ * and scoring accumulates into flat arrays borrowed from a small pool (not
+ * per thread, which would allocate them on every search of a fresh virtual
+ * thread); only the top k hits are kept.
+ */
+public final class InvertedIndex {
+    private static final Set<String> STOPWORDS = Set.of("a", "an", "and", "are", "as", "at", "be", "by", "for",
+            "from", "in", "into", "is", "it", "of", "on", "or", "the", "to", "with", "your", "you");
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final float PREFIX_FACTOR = 0.8f;
+    private static final float TYPO_FACTOR = 0.6f;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    // Same terms, sorted, for prefix expansion only
+    private final NavigableSet<String> dictionary = new TreeSet<>();
+    // single-deletion variant -> terms producing it
+    private final Map<String, Set<String>> deletions = new HashMap<>();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final ArrayDeque<Integer> freeOrdinals = new ArrayDeque<>();
+    private String[] ids = new String[1024];
+    private String[][] docTerms = new String[1024][];
+    private int liveDocs;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Searches beyond this many at once allocate their own scratch, dropped afterwards
+    private final ArrayBlockingQueue<Scratch> scratchPool =
+            new ArrayBlockingQueue<>(Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+
+    /** Collects weighted text for one document before it is (re)indexed. */
+    public static final class Doc {
+        private final Map<String, Float> terms = new HashMap<>();
+
+        public Doc add(String text, float weight) {
+            for (String token : tokenize(text)) {
+                terms.merge(token, weight, Float::sum);
+            }
+            return this;
+        }
+    }
+
+    public static final class Hit {
+        private final String id;
+        private final double score;
+
+        Hit(String id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] weights = new float[4];
+        int size;
+
+        void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size++] = weight;
+        }
+
+        // Order inside a postings list does not matter, so removal swaps in the last entry
+        void remove(int doc) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == doc) {
+                    size--;
+                    docs[i] = docs[size];
+                    weights[i] = weights[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Scratch {
+        float[] total = new float[0];
+        float[] best = new float[0];
+        int[] matched = new int[0];
+        int[] touched = new int[0];
+        int[] termTouched = new int[0];
+
+        void ensure(int n) {
+            if (total.length < n) {
+                total = new float[n];
+                best = new float[n];
+                matched = new int[n];
+                touched = new int[n];
+                termTouched = new int[n];
+            }
+        }
+    }
+
+    public void put(String id, Doc doc) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinals.get(id);
+            int ord;
+            if (existing != null) {
+                ord = existing;
+                unindex(ord);
+            } else {
+                ord = freeOrdinals.isEmpty() ? ordinals.size() : freeOrdinals.pop();
+                ensureCapacity(ord + 1);
+                ordinals.put(id, ord);
+                ids[ord] = id;
+                liveDocs++;
+            }
+            String[] terms = new String[doc.terms.size()];
+            int i = 0;
+            for (Map.Entry<String, Float> e : doc.terms.entrySet()) {
+                String term = e.getKey();
+                terms[i++] = term;
+                postings.computeIfAbsent(term, t -> {
+                    dictionary.add(t);
+                    for (String d : deletes(t)) {
+                        deletions.computeIfAbsent(d, k -> new HashSet<>()).add(t);
+                    }
+                    return new Postings();
+                }).add(ord, e.getValue());
+            }
+            docTerms[ord] = terms;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer ord = ordinals.remove(id);
+            if (ord != null) {
+                unindex(ord);
+                ids[ord] = null;
+                freeOrdinals.push(ord);
+                liveDocs--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            dictionary.clear();
+            deletions.clear();
+            ordinals.clear();
+            freeOrdinals.clear();
+            ids = new String[1024];
+            docTerms = new String[1024][];
+            liveDocs = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks documents by summed tf-idf over the query terms. A term matches
+     * exactly, as a prefix (last term only, while typing) or within one edit;
+     * documents matching fewer of the query terms are ranked down.
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Scratch pooled = scratchPool.poll();
+            Scratch s = pooled != null ? pooled : new Scratch();
+            int capacity = ids.length;
+            s.ensure(capacity);
+            float[] total = s.total;
+            float[] best = s.best;
+            int[] matched = s.matched;
+            int touchedCount = 0;
+
+            for (int q = 0; q < terms.size(); q++) {
+                // Best match per document for this query term, over all its expansions
+                int termTouchedCount = 0;
+                for (Map.Entry<String, Float> match : expand(terms.get(q), q == terms.size() - 1).entrySet()) {
+                    Postings p = postings.get(match.getKey());
+                    float factor = (float) (match.getValue() * Math.log(1.0 + (double) liveDocs / p.size));
+                    int[] docs = p.docs;
+                    float[] weights = p.weights;
+                    for (int i = 0; i < p.size; i++) {
+                        int d = docs[i];
+                        float v = factor * weights[i];
+                        if (best[d] == 0f) {
+                            s.termTouched[termTouchedCount++] = d;
+                            best[d] = v;
+                        } else if (v > best[d]) {
+                            best[d] = v;
+                        }
+                    }
+                }
+                for (int i = 0; i < termTouchedCount; i++) {
+                    int d = s.termTouched[i];
+                    if (matched[d] == 0) {
+                        s.touched[touchedCount++] = d;
+                    }
+                    total[d] += best[d];
+                    matched[d]++;
+                    best[d] = 0f;
+                }
+            }
+
+            float termCount = terms.size();
+            PriorityQueue<float[]> top = new PriorityQueue<>(limit + 1, (a, b) -> Float.compare(a[0], b[0]));
+            for (int i = 0; i < touchedCount; i++) {
+                int d = s.touched[i];
+                float coverage = matched[d] / termCount;
+                float score = total[d] * coverage * coverage;
+                total[d] = 0f;
+                matched[d] = 0;
+                if (top.size() < limit) {
+                    top.add(new float[] { score, d });
+                } else if (score > top.peek()[0]) {
+                    top.poll();
+                    top.add(new float[] { score, d });
+                }
+            }
+
+            Hit[] hits = new Hit[top.size()];
+            for (int i = hits.length - 1; i >= 0; i--) {
+                float[] e = top.poll();
+                hits[i] = new Hit(ids[(int) e[1]], e[0]);
+            }
+            // Only returned when the search completed, which leaves the arrays zeroed again
+            scratchPool.offer(s);
+            return Arrays.asList(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Index terms matching one query term, with their match factor
+    private Map<String, Float> expand(String term, boolean allowPrefix) {
+        Map<String, Float> matches = new HashMap<>();
+        if (postings.containsKey(term)) {
+            matches.put(term, 1.0f);
+        }
+        if (allowPrefix && term.length() >= 2) {
+            int expanded = 0;
+            for (String candidate : dictionary.subSet(term, false, term + Character.MAX_VALUE, false)) {
+                matches.putIfAbsent(candidate, PREFIX_FACTOR);
+                if (++expanded >= MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+            }
+        }
+        if (matches.isEmpty() && term.length() >= 4) {
+            Set<String> candidates = new HashSet<>(deletions.getOrDefault(term, Set.of()));
+            for (String d : deletes(term)) {
+                if (postings.containsKey(d)) {
+                    candidates.add(d);
+                }
+                candidates.addAll(deletions.getOrDefault(d, Set.of()));
+            }
+            for (String candidate : candidates) {
+                if (withinOneEdit(term, candidate)) {
+                    matches.put(candidate, TYPO_FACTOR);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void unindex(int ord) {
+        String[] terms = docTerms[ord];
+        docTerms[ord] = null;
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Postings p = postings.get(term);
+            if (p == null) {
+                continue;
+            }
+            p.remove(ord);
+            if (p.size == 0) {
+                postings.remove(term);
+                dictionary.remove(term);
+                for (String d : deletes(term)) {
+                    Set<String> producers = deletions.get(d);
+                    if (producers != null && producers.remove(term) && producers.isEmpty()) {
+                        deletions.remove(d);
+                    }
+                }
+            }
+        }
+    }
+
+    private void ensureCapacity(int n) {
+        if (n > ids.length) {
+            int size = Math.max(n, ids.length * 2);
+            ids = Arrays.copyOf(ids, size);
+            docTerms = Arrays.copyOf(docTerms, size);
+        }
+    }
+
+    // Lower-cased, accent-folded words of two or more characters, minus stopwords
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean word = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                String token = folded.substring(start, i);
+                if (token.length() >= 2 && !STOPWORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // Decomposing is only needed when there is something to fold
+    static String fold(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7f) {
+                return Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}+", "").toLowerCase();
+            }
+        }
+        return text.toLowerCase();
+    }
+
+    private static List<String> deletes(String term) {
+        if (term.length() < 4) {
+            return List.of();
+        }
+        List<String> out = new ArrayList<>(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            out.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return out;
+    }
+
+    // Levenshtein distance <= 1, plus adjacent transposition
+    static boolean withinOneEdit(String a, String b) {
+        if (a.equals(b)) {
+            return true;
+        }
+        int la = a.length();
+        int lb = b.length();
+        if (Math.abs(la - lb) > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < Math.min(la, lb) && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (la == lb) {
+            if (a.regionMatches(i + 1, b, i + 1, la - i - 1)) {
+                return true;
+            }
+            return i + 1 < la && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                    && a.regionMatches(i + 2, b, i + 2, la - i - 2);
+        }
+        return la > lb ? a.regionMatches(i + 1, b, i, lb - i) : b.regionMatches(i + 1, a, i, la - i);
+    }
+}
@@ -0,0 +1,301 @@
+package com.omp.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Prefix suggester for typeahead. Every word suffix of a label is a key
+ * ("machine learning basics", "learning basics", "basics"), so typing any
+ * word of a title finds it. Keys live in one sorted array; a prefix is a
+ * contiguous range of it, and a segment tree of range maxima yields the
+ * top k of that range without visiting the rest.
+ *
+ * The arrays are immutable: a write merges the changed label's keys into a
+ * copy and swaps it in, so lookups take no lock. Writers take a lock rather
+ * than a monitor, so a virtual thread waiting on a rebuild does not pin its
+ * carrier.
+ */
+public final class Suggester {
+    private static final int MAX_WORDS = 8;
+    // Matching a later word of the label ranks below matching its start
+    private static final float LATER_WORD_FACTOR = 0.8f;
+
+    private final Map<String, Suggestion> entries = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public static final class Suggestion {
+        private final String type;
+        private final String id;
+        private final String label;
+        private final float weight;
+
+        public Suggestion(String type, String id, String label, float weight) {
+            this.type = type;
+            this.id = id;
+            this.label = label;
+            this.weight = weight;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public float getWeight() {
+            return weight;
+        }
+    }
+
+    public void put(Suggestion suggestion) {
+        String key = suggestion.type + ':' + suggestion.id;
+        lock.lock();
+        try {
+            Suggestion previous = entries.get(key);
+            if (previous != null && previous.weight == suggestion.weight
+                    && previous.label.equals(suggestion.label)) {
+                // Most course edits keep the title
+                return;
+            }
+            entries.put(key, suggestion);
+            snapshot = snapshot.patch(previous, suggestion);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(String type, String id) {
+        lock.lock();
+        try {
+            Suggestion previous = entries.remove(type + ':' + id);
+            if (previous != null) {
+                snapshot = snapshot.patch(previous, null);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void replaceAll(Collection<Suggestion> suggestions) {
+        lock.lock();
+        try {
+            entries.clear();
+            suggestions.forEach(s -> entries.put(s.type + ':' + s.id, s));
+            snapshot = Snapshot.of(entries.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return snapshot.size;
+    }
+
+    /** Up to {@code limit} suggestions whose label has a word starting with the typed text, best first. */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return snapshot.top(key, limit);
+    }
+
+    // Folded words joined by single spaces
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = InvertedIndex.fold(text);
+        StringBuilder sb = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            } else if (sb.length() > 0 && sb.charAt(sb.length() - 1) != ' ') {
+                sb.append(' ');
+            }
+        }
+        int end = sb.length();
+        if (end > 0 && sb.charAt(end - 1) == ' ') {
+            sb.setLength(end - 1);
+        }
+        return sb.toString();
+    }
+
+    private record Key(String key, Suggestion owner, float score) {
+    }
+
+    // Sorted keys of one label: each word suffix, later words scored lower
+    private static List<Key> keysOf(Suggestion suggestion) {
+        List<Key> keys = new ArrayList<>(MAX_WORDS);
+        String label = normalize(suggestion.label);
+        float score = suggestion.weight;
+        int start = 0;
+        for (int word = 0; word < MAX_WORDS && start < label.length(); word++) {
+            keys.add(new Key(label.substring(start), suggestion, score));
+            int space = label.indexOf(' ', start);
+            if (space < 0) {
+                break;
+            }
+            start = space + 1;
+            score *= LATER_WORD_FACTOR;
+        }
+        keys.sort((a, b) -> a.key.compareTo(b.key));
+        return keys;
+    }
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new String[0], new Suggestion[0], new float[0], 0);
+
+        final String[] keys;
+        final Suggestion[] owners;
+        final float[] scores;
+        final int size;
+        // Segment tree over positions: tree[leaves + i] = i, each parent the better of its children
+        final int leaves;
+        final int[] tree;
+
+        private Snapshot(String[] keys, Suggestion[] owners, float[] scores, int size) {
+            this.keys = keys;
+            this.owners = owners;
+            this.scores = scores;
+            this.size = size;
+            int n = keys.length;
+            leaves = Math.max(1, Integer.highestOneBit(Math.max(1, n - 1)) << 1);
+            tree = new int[2 * leaves];
+            Arrays.fill(tree, -1);
+            for (int i = 0; i < n; i++) {
+                tree[leaves + i] = i;
+            }
+            for (int i = leaves - 1; i > 0; i--) {
+                tree[i] = better(tree[2 * i], tree[2 * i + 1]);
+            }
+        }
+
+        static Snapshot of(Collection<Suggestion> suggestions) {
+            List<Key> keys = new ArrayList<>();
+            suggestions.forEach(s -> keys.addAll(keysOf(s)));
+            keys.sort((a, b) -> a.key.compareTo(b.key));
+            return build(keys, suggestions.size());
+        }
+
+        // Drops the keys of removed and merges in those of added, in one linear pass
+        Snapshot patch(Suggestion removed, Suggestion added) {
+            List<Key> incoming = added == null ? List.of() : keysOf(added);
+            int capacity = keys.length + incoming.size();
+            String[] k = new String[capacity];
+            Suggestion[] o = new Suggestion[capacity];
+            float[] sc = new float[capacity];
+            int n = 0;
+            int next = 0;
+            for (int i = 0; i <= keys.length; i++) {
+                while (next < incoming.size() && (i == keys.length || incoming.get(next).key.compareTo(keys[i]) < 0)) {
+                    Key key = incoming.get(next++);
+                    k[n] = key.key;
+                    o[n] = key.owner;
+                    sc[n++] = key.score;
+                }
+                if (i < keys.length && owners[i] != removed) {
+                    k[n] = keys[i];
+                    o[n] = owners[i];
+                    sc[n++] = scores[i];
+                }
+            }
+            int size = this.size + (added == null ? 0 : 1) - (removed == null ? 0 : 1);
+            return n == capacity ? new Snapshot(k, o, sc, size)
+                    : new Snapshot(Arrays.copyOf(k, n), Arrays.copyOf(o, n), Arrays.copyOf(sc, n), size);
+        }
+
+        private static Snapshot build(List<Key> sorted, int size) {
+            String[] keys = new String[sorted.size()];
+            Suggestion[] owners = new Suggestion[sorted.size()];
+            float[] scores = new float[sorted.size()];
+            for (int i = 0; i < keys.length; i++) {
+                Key key = sorted.get(i);
+                keys[i] = key.key;
+                owners[i] = key.owner;
+                scores[i] = key.score;
+            }
+            return new Snapshot(keys, owners, scores, size);
+        }
+        // Ties go to the earlier, i.e. alphabetically first and shorter, key; -1 is an empty slot
+        private int better(int a, int b) {
+            if (a < 0 || b < 0) {
+                return a < 0 ? b : a;
+            }
+            return scores[b] > scores[a] ? b : a;
+        }
+
+        // Best position in [from, to)
+        private int argmax(int from, int to) {
+            int left = -1;
+            int right = -1;
+            for (int lo = from + leaves, hi = to + leaves; lo < hi; lo >>= 1, hi >>= 1) {
+                if ((lo & 1) == 1) {
+                    left = better(left, tree[lo++]);
+                }
+                if ((hi & 1) == 1) {
+                    right = better(tree[--hi], right);
+                }
+            }
+            return better(left, right);
+        }
+
+        List<Suggestion> top(String prefix, int limit) {
+            int from = lowerBound(prefix);
+            int to = lowerBound(prefix + Character.MAX_VALUE);
+            if (from >= to) {
+                return List.of();
+            }
+            // Ranges ordered by their best score; popping one splits it around its maximum
+            PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> scores[a[2]] != scores[b[2]]
+                    ? Float.compare(scores[b[2]], scores[a[2]])
+                    : Integer.compare(a[2], b[2]));
+            ranges.add(new int[] { from, to, argmax(from, to) });
+            List<Suggestion> out = new ArrayList<>(limit);
+            while (!ranges.isEmpty() && out.size() < limit) {
+                int[] range = ranges.poll();
+                int at = range[2];
+                // One label can own several keys under the same prefix; out holds at most limit items
+                Suggestion suggestion = owners[at];
+                if (!out.contains(suggestion)) {
+                    out.add(suggestion);
+                }
+                if (range[0] < at) {
+                    ranges.add(new int[] { range[0], at, argmax(range[0], at) });
+                }
+                if (at + 1 < range[1]) {
+                    ranges.add(new int[] { at + 1, range[1], argmax(at + 1, range[1]) });
+                }
+            }
+            return out;
+        }
+
+        private int lowerBound(String key) {
+            int lo = 0;
+            int hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.omp.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * HMAC-SHA256 verifier for hex signatures (Razorpay checkout and webhooks).
+ * Keyed {@link Mac}s and scratch buffers are borrowed from a small pool
+ * rather than kept per thread, so the cost does not depend on thread
+ * lifetime: with a fresh virtual thread per request a ThreadLocal would key
+ * a new Mac on every call. The provided hex is decoded once and digests are
+ * compared in constant time, so a verification allocates nothing on the
+ * steady-state path.
+ */
+public final class HmacSignatureVerifier {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int DIGEST_LENGTH = 32;
+
+    // Beyond this many concurrent verifications, extra scratches are made and dropped after use
+    private static final int POOL_SIZE = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    private final SecretKeySpec key;
+    // Keyed once; new Macs are cloned from it, which skips the provider lookup and key schedule
+    private final Mac prototype;
+    private final ArrayBlockingQueue<Scratch> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    public HmacSignatureVerifier(String secret) {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("HMAC secret is required");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.prototype = newMac();
+    }
+
+    /** Verifies a signature over {@code first + '|' + second} (Razorpay order/payment ids). */
+    public boolean verify(String first, String second, String hexSignature) {
+        if (first == null || second == null || hexSignature == null) {
+            return false;
+        }
+        Scratch s = acquire();
+        try {
+            Mac mac = s.mac;
+            update(mac, s, first);
+            mac.update((byte) '|');
+            update(mac, s, second);
+            return finish(s, hexSignature);
+        } finally {
+            release(s);
+        }
+    }
+
+    /** Verifies a signature over a raw body (Razorpay webhooks). */
+    public boolean verify(byte[] body, String hexSignature) {
+        if (body == null || hexSignature == null) {
+            return false;
+        }
+        Scratch s = acquire();
+        try {
+            s.mac.update(body);
+            return finish(s, hexSignature);
+        } finally {
+            release(s);
+        }
+    }
+
+    private boolean finish(Scratch s, String hexSignature) {
+        try {
+            s.mac.doFinal(s.digest, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        // Always run the full comparison so timing does not depend on where a mismatch is
+        int diff = hexSignature.length() ^ (DIGEST_LENGTH * 2);
+        int n = Math.min(hexSignature.length() / 2, DIGEST_LENGTH);
+        for (int i = 0; i < DIGEST_LENGTH; i++) {
+            int provided = i < n
+                    ? (nibble(hexSignature.charAt(2 * i)) << 4) | nibble(hexSignature.charAt(2 * i + 1))
+                    : 0x100;
+            diff |= provided ^ (s.digest[i] & 0xff);
+        }
+        return diff == 0;
+    }
+
+    // Ids are ASCII in practice; encode them into the reusable buffer and fall back to UTF-8 otherwise
+    private static void update(Mac mac, Scratch s, String value) {
+        int len = value.length();
+        if (len > s.text.length) {
+            mac.update(value.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        for (int i = 0; i < len; i++) {
+            char c = value.charAt(i);
+            if (c > 0x7f) {
+                mac.update(s.text, 0, i);
+                mac.update(value.substring(i).getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            s.text[i] = (byte) c;
+        }
+        mac.update(s.text, 0, len);
+    }
+
+    // Returns 0x100 for non-hex characters, which can never match a digest byte
+    private static int nibble(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return 0x100;
+    }
+
+    private Scratch acquire() {
+        Scratch s = pool.poll();
+        if (s != null) {
+            return s;
+        }
+        try {
+            return new Scratch((Mac) prototype.clone());
+        } catch (CloneNotSupportedException e) {
+            return new Scratch(newMac());
+        }
+    }
+
+    // doFinal leaves the Mac reset; reset again in case an update threw halfway
+    private void release(Scratch s) {
+        s.mac.reset();
+        pool.offer(s);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to initialise " + ALGORITHM, e);
+        }
+    }
+
+    private static final class Scratch {
+        final Mac mac;
+        final byte[] digest = new byte[DIGEST_LENGTH];
+        final byte[] text = new byte[128];
+
+        Scratch(Mac mac) {
+            this.mac = mac;
+        }
+    }
+}
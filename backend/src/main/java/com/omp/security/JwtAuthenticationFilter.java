@@ -4,6 +4,7 @@ import java.io.IOException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -12,8 +13,9 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.omp.config.RequestLoggingFilter;
 import com.omp.service.JwtService;
-import com.omp.service.UserDetailsServiceImpl;
+import com.omp.service.CurrentUserService;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -27,7 +29,7 @@ import lombok.RequiredArgsConstructor;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     private final JwtService jwtService;
-    private final UserDetailsServiceImpl userDetailsService; // Kept for token validation if needed
+    private final CurrentUserService currentUserService;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
@@ -47,14 +49,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // First try Authorization header
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             jwt = authHeader.substring(7);
-            logger.info("JWT found in Authorization header for path: {}", path);
         } else {
             // Then try cookie
             if (request.getCookies() != null) {
                 for (Cookie cookie : request.getCookies()) {
                     if ("jwt".equals(cookie.getName())) {
                         jwt = cookie.getValue();
-                        logger.info("JWT found in cookie for path: {}", path);
                         break;
                     }
                 }
@@ -62,41 +62,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         if (jwt == null) {
-            logger.info("No JWT token found for path: {}", path);
             filterChain.doFilter(request, response);
             return;
         }
 
         try {
             userEmail = jwtService.extractUsername(jwt);
-            logger.info("Extracted user email from JWT: {}", userEmail);
         } catch (Exception e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            // Expired cookies are routine; the request simply goes on unauthenticated
+            logger.debug("Invalid JWT on {}: {}", path, e.getMessage());
             filterChain.doFilter(request, response);
             return;
         }
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                // Cached snapshot; becomes the principal so controllers do not look the user up again
+                UserDetails userDetails = currentUserService.load(userEmail);
 
                 if (jwtService.isTokenValid(jwt, userDetails)) {
-                    String role = jwtService.extractClaim(jwt, claims -> claims.get("role", String.class));
-                    logger.info("JWT Authenticated user: {} with role: {}", userEmail, role);
-
                     // Use the authorities from UserDetails directly
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
 
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
-                    logger.info("Authentication set for user: {} with authorities: {}", userEmail,
-                            authToken.getAuthorities());
+                    if (userDetails instanceof UserSnapshot snapshot) {
+                        MDC.put(RequestLoggingFilter.USER_ID, snapshot.getId());
+                    }
                 } else {
-                    logger.warn("JWT token is not valid for user: {}", userEmail);
+                    logger.debug("JWT rejected on {}", path);
                 }
             } catch (Exception e) {
-                logger.error("Error processing JWT for user {}: {}", userEmail, e.getMessage());
+                logger.warn("Error processing JWT on {}: {}", path, e.getMessage());
             }
         }
         filterChain.doFilter(request, response);
@@ -0,0 +1,70 @@
+package com.omp.security;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.omp.entity.Role;
+import com.omp.entity.User;
+
+import lombok.Value;
+
+/**
+ * Immutable view of the authenticated user, resolved once by the JWT filter
+ * and carried as the principal so controllers need no user lookup. Holds no
+ * password hash.
+ */
+@Value
+public class UserSnapshot implements UserDetails {
+    String id;
+    String name;
+    String email;
+    Role role;
+    boolean active;
+    LocalDateTime createdAt;
+    List<GrantedAuthority> authorities;
+
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getId(), user.getName(), user.getEmail(), user.getRole(), user.isActive(),
+                user.getCreatedAt(), List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
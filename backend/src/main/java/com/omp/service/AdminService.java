@@ -1,23 +1,38 @@
 package com.omp.service;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.omp.config.FanOut;
+import com.omp.config.ReportingReads;
 import com.omp.dto.CourseDTO;
+import com.omp.dto.CursorPage;
 import com.omp.dto.MentorDTO;
 import com.omp.dto.ModuleDTO;
 import com.omp.dto.UserDTO;
+import com.omp.entity.Certificate;
 import com.omp.entity.Course;
 import com.omp.entity.Enrollment;
 import com.omp.entity.Mentor;
@@ -26,10 +41,14 @@ import com.omp.entity.Role;
 import com.omp.entity.User;
 import com.omp.repository.CertificateRepository;
 import com.omp.repository.CourseRepository;
+import com.omp.repository.CourseRepository.CourseSummary;
 import com.omp.repository.EnrollmentRepository;
 import com.omp.repository.MentorRepository;
+import com.omp.repository.MentorRepository.MentorSummary;
 import com.omp.repository.ModuleRepository;
 import com.omp.repository.UserRepository;
+import com.omp.repository.UserRepository.UserContact;
+import com.omp.repository.UserRepository.UserSummary;
 
 import lombok.RequiredArgsConstructor;
 
@@ -44,13 +63,21 @@ public class AdminService {
     private final FileStorageService fileStorageService;
     private final EnrollmentRepository enrollmentRepository;
     private final CertificateRepository certificateRepository;
+    private final EnrollmentEntitlementService entitlementService;
+    private final ModuleCourseCache moduleCourseCache;
+    private final CourseProgressService courseProgressService;
+    private final CurrentUserService currentUserService;
+    private final MongoTemplate mongoTemplate;
+    private final CatalogSearchService catalogSearchService;
+    private final FanOut fanOut;
+    private final ReportingReads reportingReads;
 
     // Removed JPA EntityManager; using Mongo repositories only
 
     // User CRUD
     public List<UserDTO> getAllUsers() {
-        return userRepository.findAll().stream()
-                .filter(user -> user.getRole() != Role.ADMIN) // Don't show admins
+        // Admins are excluded by the query itself
+        return userRepository.findSummariesByRoleNot(Role.ADMIN).stream()
                 .map(this::toUserDTO)
                 .collect(Collectors.toList());
     }
@@ -72,7 +99,11 @@ public class AdminService {
                 .password("") // Set password via registration
                 .role(dto.getRole() == null ? Role.STUDENT : dto.getRole())
                 .build();
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException("Email already exists");
+        }
         return toUserDTO(user);
     }
 
@@ -81,10 +112,16 @@ public class AdminService {
             throw new IllegalArgumentException("Can only set role to student");
         }
         User user = userRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("User not found"));
+        currentUserService.invalidate(user.getEmail());
+        boolean renamed = !Objects.equals(user.getName(), dto.getName());
         user.setName(dto.getName());
         user.setEmail(dto.getEmail());
         user.setRole(dto.getRole());
         userRepository.save(user);
+        currentUserService.invalidate(user.getEmail());
+        if (renamed) {
+            catalogSearchService.userRenamed(id);
+        }
         return toUserDTO(user);
     }
 
@@ -96,18 +133,22 @@ public class AdminService {
             throw new AccessDeniedException("Cannot delete admin users");
         }
         userRepository.deleteById(id);
+        entitlementService.evictUser(id);
+        currentUserService.invalidate(user.getEmail());
     }
 
     public void deactivateUser(String id) {
         User user = userRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("User not found"));
         user.setActive(false);
         userRepository.save(user);
+        currentUserService.invalidate(user.getEmail());
     }
 
     public void reactivateUser(String id) {
         User user = userRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("User not found"));
         user.setActive(true);
         userRepository.save(user);
+        currentUserService.invalidate(user.getEmail());
     }
 
     public String resetUserPassword(String id, String newPassword, PasswordEncoder passwordEncoder) {
@@ -119,7 +160,7 @@ public class AdminService {
 
     // Mentor CRUD
     public List<MentorDTO> getAllMentors() {
-        return mentorRepository.findAll().stream().map(this::toMentorDTO).collect(Collectors.toList());
+        return toMentorDTOs(mentorRepository.findSummariesBy());
     }
 
     public MentorDTO getMentor(String id) {
@@ -150,7 +191,9 @@ public class AdminService {
                 .imageUrl(imageUrl)
                 .build();
 
-        return toMentorDTO(mentorRepository.save(mentor));
+        Mentor saved = mentorRepository.save(mentor);
+        catalogSearchService.mentorChanged(saved.getId());
+        return toMentorDTO(saved);
     }
 
     public MentorDTO updateMentor(String id, MentorDTO mentorDTO, MultipartFile image) {
@@ -158,9 +201,11 @@ public class AdminService {
                 .orElseThrow(() -> new IllegalArgumentException("Mentor not found"));
         if (mentor.getUserId() != null) {
             userRepository.findById(mentor.getUserId()).ifPresent(u -> {
+                currentUserService.invalidate(u.getEmail());
                 u.setName(mentorDTO.getName());
                 u.setEmail(mentorDTO.getEmail());
                 userRepository.save(u);
+                currentUserService.invalidate(u.getEmail());
             });
         }
 
@@ -172,7 +217,9 @@ public class AdminService {
             mentor.setImageUrl(imageUrl);
         }
 
-        return toMentorDTO(mentorRepository.save(mentor));
+        Mentor saved = mentorRepository.save(mentor);
+        catalogSearchService.mentorChanged(id);
+        return toMentorDTO(saved);
     }
 
     public void deleteMentor(String id) {
@@ -186,11 +233,114 @@ public class AdminService {
             }
         }
         mentorRepository.deleteById(id);
+        catalogSearchService.mentorChanged(id);
     }
 
     // Course CRUD
     public List<CourseDTO> getAllCourses() {
-        return courseRepository.findAll().stream().map(this::toCourseDTO).collect(Collectors.toList());
+        return toCourseDTOs(courseRepository.findSummariesBy());
+    }
+
+    // Keyset-paged lists: filters and sort run in Mongo on indexed fields, pages are bounded
+    public CursorPage<UserDTO> getUsersPage(Role role, Boolean active, String q, String sort, String cursor,
+            Integer limit) {
+        if (role == Role.ADMIN) {
+            throw new IllegalArgumentException("Admin users are not listed");
+        }
+        List<Criteria> filters = new ArrayList<>();
+        filters.add(role != null ? Criteria.where("role").is(role) : Criteria.where("role").ne(Role.ADMIN));
+        if (active != null) {
+            // Users written before the flag existed count as active
+            filters.add(active ? Criteria.where("active").ne(false) : Criteria.where("active").is(false));
+        }
+        if (q != null && !q.isBlank()) {
+            filters.add(new Criteria().orOperator(Keyset.prefix("email", q.trim().toLowerCase()),
+                    Keyset.prefix("name", q.trim())));
+        }
+        String field = Keyset.sortField(sort, Set.of("name", "email", "createdAt", "id"), "name");
+        boolean desc = Keyset.descending(sort);
+        int size = Keyset.limit(limit);
+        Query query = Keyset.query(filters, field, desc, cursor, size);
+        List<UserSummary> rows = mongoTemplate.query(User.class).as(UserSummary.class).matching(query).all();
+        return Keyset.page(rows, size, field, desc, u -> switch (field) {
+            case "email" -> u.getEmail();
+            case "createdAt" -> u.getCreatedAt();
+            default -> u.getName();
+        }, UserSummary::getId, page -> page.stream().map(this::toUserDTO).collect(Collectors.toList()));
+    }
+
+    public CursorPage<MentorDTO> getMentorsPage(String q, String sort, String cursor, Integer limit) {
+        List<Criteria> filters = new ArrayList<>();
+        if (q != null && !q.isBlank()) {
+            filters.add(Keyset.prefix("expertise", q.trim()));
+        }
+        String field = Keyset.sortField(sort, Set.of("expertise", "id"), "id");
+        boolean desc = Keyset.descending(sort);
+        int size = Keyset.limit(limit);
+        Query query = Keyset.query(filters, field, desc, cursor, size);
+        List<MentorSummary> rows = mongoTemplate.query(Mentor.class).as(MentorSummary.class).matching(query).all();
+        return Keyset.page(rows, size, field, desc, MentorSummary::getExpertise, MentorSummary::getId,
+                this::toMentorDTOs);
+    }
+
+    public CursorPage<CourseDTO> getCoursesPage(String mentorId, String q, String sort, String cursor,
+            Integer limit) {
+        List<Criteria> filters = new ArrayList<>();
+        if (mentorId != null && !mentorId.isBlank()) {
+            filters.add(Criteria.where("mentorId").is(mentorId));
+        }
+        if (q != null && !q.isBlank()) {
+            filters.add(Keyset.prefix("title", q.trim()));
+        }
+        String field = Keyset.sortField(sort, Set.of("title", "price", "id"), "title");
+        boolean desc = Keyset.descending(sort);
+        int size = Keyset.limit(limit);
+        Query query = Keyset.query(filters, field, desc, cursor, size);
+        List<CourseSummary> rows = mongoTemplate.query(Course.class).as(CourseSummary.class).matching(query).all();
+        return Keyset.page(rows, size, field, desc, c -> "price".equals(field) ? c.getPrice() : c.getTitle(),
+                CourseSummary::getId, this::toCourseDTOs);
+    }
+
+    public CursorPage<ModuleDTO> getModulesPage(String courseId, String q, String sort, String cursor,
+            Integer limit) {
+        List<Criteria> filters = new ArrayList<>();
+        if (courseId != null && !courseId.isBlank()) {
+            filters.add(Criteria.where("courseId").is(courseId));
+        }
+        if (q != null && !q.isBlank()) {
+            filters.add(Keyset.prefix("title", q.trim()));
+        }
+        String field = Keyset.sortField(sort, Set.of("title", "id"), "title");
+        boolean desc = Keyset.descending(sort);
+        int size = Keyset.limit(limit);
+        List<Module> rows = mongoTemplate.find(Keyset.query(filters, field, desc, cursor, size), Module.class);
+        return Keyset.page(rows, size, field, desc, Module::getTitle, Module::getId,
+                page -> page.stream().map(this::toModuleDTO).collect(Collectors.toList()));
+    }
+
+    private List<MentorDTO> toMentorDTOs(List<MentorSummary> mentors) {
+        Map<String, UserContact> users = contactsOf(mentors.stream().map(MentorSummary::getUserId));
+        return mentors.stream().map(m -> toMentorDTO(m, users)).collect(Collectors.toList());
+    }
+
+    // Mentors and their users are fetched once for the whole list instead of per course
+    private List<CourseDTO> toCourseDTOs(List<CourseSummary> courses) {
+        Set<String> mentorIds = courses.stream().map(CourseSummary::getMentorId).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, MentorSummary> mentors = mentorIds.isEmpty() ? Map.of()
+                : mentorRepository.findSummariesByIdIn(mentorIds).stream()
+                        .collect(Collectors.toMap(MentorSummary::getId, Function.identity()));
+        Map<String, UserContact> users = contactsOf(mentors.values().stream().map(MentorSummary::getUserId));
+        return courses.stream().map(c -> toCourseDTO(c, mentors, users)).collect(Collectors.toList());
+    }
+
+    private Map<String, UserContact> contactsOf(Stream<String> userIds) {
+        Set<String> ids = userIds.filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findContactsByIdIn(ids).stream()
+                .collect(Collectors.toMap(UserContact::getId, Function.identity()));
     }
 
     public CourseDTO createCourse(CourseDTO courseDTO) {
@@ -198,7 +348,8 @@ public class AdminService {
                 .title(courseDTO.getTitle())
                 .description(courseDTO.getDescription())
                 .price(courseDTO.getPrice())
-                .imageUrl(courseDTO.getImageUrl());
+                .imageUrl(courseDTO.getImageUrl())
+                .moduleCount(0);
 
         // Set mentor if provided
         if (courseDTO.getMentorId() != null) {
@@ -207,8 +358,9 @@ public class AdminService {
             builder.mentorId(courseDTO.getMentorId());
         }
 
-        Course course = builder.build();
-        return toCourseDTO(courseRepository.save(course));
+        Course saved = courseRepository.save(builder.build());
+        catalogSearchService.courseChanged(saved.getId());
+        return toCourseDTO(saved);
     }
 
     public CourseDTO updateCourse(String id, CourseDTO courseDTO) {
@@ -222,7 +374,9 @@ public class AdminService {
         if (courseDTO.getMentorId() != null) {
             course.setMentorId(courseDTO.getMentorId());
         }
-        return toCourseDTO(courseRepository.save(course));
+        Course saved = courseRepository.save(course);
+        catalogSearchService.courseChanged(id);
+        return toCourseDTO(saved);
     }
 
     // Removed SQL-based force delete (not applicable for MongoDB)
@@ -240,6 +394,9 @@ public class AdminService {
             logger.info("Modules remaining for course {}: {}", id,
                     moduleRepository.findAll().stream().filter(m -> id.equals(m.getCourseId())).count());
             courseRepository.deleteById(id);
+            entitlementService.removeCourse(id);
+            moduleCourseCache.courseDeleted(id);
+            catalogSearchService.courseRemoved(id);
             logger.info("Deleted course, modules, certificates, and related enrollments for id: {}", id);
         } catch (Exception e) {
             logger.error("Error deleting course with id {}: {}", id, e.getMessage(), e);
@@ -254,6 +411,7 @@ public class AdminService {
                 .orElseThrow(() -> new IllegalArgumentException("Mentor not found"));
         course.setMentorId(mentorId);
         courseRepository.save(course);
+        catalogSearchService.courseChanged(courseId);
     }
 
     // Module Service Methods
@@ -268,7 +426,10 @@ public class AdminService {
                 .resourceUrl(moduleDTO.getResourceUrl())
                 .courseId(courseId)
                 .build();
-        return toModuleDTO(moduleRepository.save(module));
+        Module saved = moduleRepository.save(module);
+        courseProgressService.moduleAdded(courseId, saved.getId());
+        catalogSearchService.courseChanged(courseId);
+        return toModuleDTO(saved);
     }
 
     public ModuleDTO updateModule(String moduleId, ModuleDTO moduleDTO) {
@@ -278,13 +439,24 @@ public class AdminService {
         module.setVideoUrl(moduleDTO.getVideoUrl());
         module.setSummary(moduleDTO.getSummary());
         module.setResourceUrl(moduleDTO.getResourceUrl());
-        return toModuleDTO(moduleRepository.save(module));
+        Module saved = moduleRepository.save(module);
+        catalogSearchService.courseChanged(saved.getCourseId());
+        return toModuleDTO(saved);
     }
 
     @Transactional
     public void deleteModule(String moduleId) {
         logger.info("Deleting module with id: {}", moduleId);
+        String courseId = moduleRepository.findCourseRefById(moduleId)
+                .map(ModuleRepository.CourseRef::getCourseId)
+                .orElse(null);
         moduleRepository.deleteById(moduleId);
+        if (courseId != null) {
+            courseProgressService.moduleRemoved(courseId, moduleId);
+            catalogSearchService.courseChanged(courseId);
+        } else {
+            moduleCourseCache.moduleDeleted(moduleId, null, 0);
+        }
         logger.info("Deleted module with id: {}", moduleId);
     }
 
@@ -292,74 +464,105 @@ public class AdminService {
         return moduleRepository.findAll().stream().map(this::toModuleDTO).collect(Collectors.toList());
     }
 
+    // The analytics counts below are reporting reads, served by secondaries when there are any
+
     public long getTotalUsers() {
-        return userRepository.count();
+        return mongoTemplate.count(reportingReads.query(), User.class);
     }
 
     public long getTotalStudents() {
-        return userRepository.findAll().stream().filter(u -> u.getRole() == Role.STUDENT).count();
+        return mongoTemplate.count(reportingReads.query(Criteria.where("role").is(Role.STUDENT)), User.class);
     }
 
     public long getTotalMentors() {
-        return mentorRepository.count();
+        return mongoTemplate.count(reportingReads.query(), Mentor.class);
     }
 
     public long getTotalCourses() {
-        return courseRepository.count();
+        return mongoTemplate.count(reportingReads.query(), Course.class);
     }
 
     public long getTotalModules() {
-        return moduleRepository.count();
+        return mongoTemplate.count(reportingReads.query(), Module.class);
     }
 
     public long getTotalEnrollments() {
-        return enrollmentRepository.count();
+        return mongoTemplate.count(reportingReads.query(), Enrollment.class);
     }
 
     public long getTotalAdmins() {
-        return userRepository.findAll().stream().filter(u -> u.getRole() == Role.ADMIN).count();
+        return mongoTemplate.count(reportingReads.query(Criteria.where("role").is(Role.ADMIN)), User.class);
     }
 
     public long getActiveStudents() {
-        return enrollmentRepository.countDistinctByUserIdIsNotNull();
+        return mongoTemplate.count(reportingReads.query(Criteria.where("userId").ne(null)), Enrollment.class);
     }
 
     public long getCompletedCourses() {
-        return enrollmentRepository.countByCertificateUrlIsNotNull();
+        return mongoTemplate.count(reportingReads.query(Criteria.where("certificateUrl").ne(null)),
+                Enrollment.class);
     }
 
     public long getInProgressCourses() {
-        return enrollmentRepository.countByCertificateUrlIsNull();
+        return mongoTemplate.count(reportingReads.query(Criteria.where("certificateUrl").is(null)),
+                Enrollment.class);
     }
 
     public long getCertificatesIssued() {
-        return certificateRepository.count();
+        return mongoTemplate.count(reportingReads.query(), Certificate.class);
     }
 
+    // Eleven independent counts, run side by side
     public Map<String, Object> getComprehensiveAnalytics() {
         Map<String, Object> analytics = new HashMap<>();
-
-        // Basic counts
-        analytics.put("totalUsers", getTotalUsers());
-        analytics.put("totalStudents", getTotalStudents());
-        analytics.put("totalMentors", getTotalMentors());
-        analytics.put("totalAdmins", getTotalAdmins());
-        analytics.put("totalCourses", getTotalCourses());
-        analytics.put("totalModules", getTotalModules());
-        analytics.put("totalEnrollments", getTotalEnrollments());
-
-        // Progress analytics
-        analytics.put("activeStudents", getActiveStudents());
-        analytics.put("completedCourses", getCompletedCourses());
-        analytics.put("inProgressCourses", getInProgressCourses());
-        analytics.put("certificatesIssued", getCertificatesIssued());
+        long totalUsers;
+        long totalStudents;
+        long totalMentors;
+        long totalAdmins;
+        long totalEnrollments;
+        long completedCourses;
+        try (FanOut.Scope scope = fanOut.open()) {
+            Supplier<Long> users = scope.fork(this::getTotalUsers);
+            Supplier<Long> students = scope.fork(this::getTotalStudents);
+            Supplier<Long> mentors = scope.fork(this::getTotalMentors);
+            Supplier<Long> admins = scope.fork(this::getTotalAdmins);
+            Supplier<Long> courses = scope.fork(this::getTotalCourses);
+            Supplier<Long> modules = scope.fork(this::getTotalModules);
+            Supplier<Long> enrollments = scope.fork(this::getTotalEnrollments);
+            Supplier<Long> active = scope.fork(this::getActiveStudents);
+            Supplier<Long> completed = scope.fork(this::getCompletedCourses);
+            Supplier<Long> inProgress = scope.fork(this::getInProgressCourses);
+            Supplier<Long> certificates = scope.fork(this::getCertificatesIssued);
+            scope.join();
+
+            totalUsers = users.get();
+            totalStudents = students.get();
+            totalMentors = mentors.get();
+            totalAdmins = admins.get();
+            totalEnrollments = enrollments.get();
+            completedCourses = completed.get();
+
+            // Basic counts
+            analytics.put("totalUsers", totalUsers);
+            analytics.put("totalStudents", totalStudents);
+            analytics.put("totalMentors", totalMentors);
+            analytics.put("totalAdmins", totalAdmins);
+            analytics.put("totalCourses", courses.get());
+            analytics.put("totalModules", modules.get());
+            analytics.put("totalEnrollments", totalEnrollments);
+
+            // Progress analytics
+            analytics.put("activeStudents", active.get());
+            analytics.put("completedCourses", completedCourses);
+            analytics.put("inProgressCourses", inProgress.get());
+            analytics.put("certificatesIssued", certificates.get());
+        }
 
         // Calculate percentages
-        long totalUsers = getTotalUsers();
         if (totalUsers > 0) {
-            analytics.put("studentPercentage", Math.round((double) getTotalStudents() / totalUsers * 100));
-            analytics.put("mentorPercentage", Math.round((double) getTotalMentors() / totalUsers * 100));
-            analytics.put("adminPercentage", Math.round((double) getTotalAdmins() / totalUsers * 100));
+            analytics.put("studentPercentage", Math.round((double) totalStudents / totalUsers * 100));
+            analytics.put("mentorPercentage", Math.round((double) totalMentors / totalUsers * 100));
+            analytics.put("adminPercentage", Math.round((double) totalAdmins / totalUsers * 100));
         } else {
             analytics.put("studentPercentage", 0);
             analytics.put("mentorPercentage", 0);
@@ -367,9 +570,8 @@ public class AdminService {
         }
 
         // Course completion rate
-        long totalEnrollments = getTotalEnrollments();
         if (totalEnrollments > 0) {
-            analytics.put("completionRate", Math.round((double) getCompletedCourses() / totalEnrollments * 100));
+            analytics.put("completionRate", Math.round((double) completedCourses / totalEnrollments * 100));
         } else {
             analytics.put("completionRate", 0);
         }
@@ -377,34 +579,55 @@ public class AdminService {
         return analytics;
     }
 
+    // A reporting read: enrollments, then their users and courses (with their module counts) in one query each
     public List<Map<String, Object>> getStudentProgress() {
         List<Map<String, Object>> progress = new ArrayList<>();
 
-        List<Enrollment> enrollments = enrollmentRepository.findAll();
+        List<Enrollment> enrollments = mongoTemplate.find(reportingReads.query(), Enrollment.class);
+        Query userQuery = reportingReads.query(Criteria.where("_id").in(
+                enrollments.stream().map(Enrollment::getUserId).filter(Objects::nonNull).collect(Collectors.toSet())));
+        userQuery.fields().include("name", "email");
+        Map<String, User> users = mongoTemplate.find(userQuery, User.class).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Query courseQuery = reportingReads.query(Criteria.where("_id").in(
+                enrollments.stream().map(Enrollment::getCourseId).filter(Objects::nonNull).collect(Collectors.toSet())));
+        courseQuery.fields().include("title", "mentorId", "moduleCount");
+        Map<String, Course> courses = mongoTemplate.find(courseQuery, Course.class).stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        Map<String, Long> moduleCounts = moduleCounts(courses.values());
 
         for (Enrollment enrollment : enrollments) {
             Map<String, Object> studentProgress = new HashMap<>();
 
             // Student info
             studentProgress.put("id", enrollment.getId());
-            userRepository.findById(enrollment.getUserId()).ifPresent(u -> {
-                studentProgress.put("name", u.getName());
-                studentProgress.put("email", u.getEmail());
-            });
+            User user = enrollment.getUserId() == null ? null : users.get(enrollment.getUserId());
+            if (user != null) {
+                studentProgress.put("name", user.getName());
+                studentProgress.put("email", user.getEmail());
+            }
 
             // Course info
-            courseRepository.findById(enrollment.getCourseId()).ifPresent(c -> {
-                studentProgress.put("courseTitle", c.getTitle());
-                studentProgress.put("mentorName", c.getMentorId());
-            });
+            Course course = enrollment.getCourseId() == null ? null : courses.get(enrollment.getCourseId());
+            if (course != null) {
+                studentProgress.put("courseTitle", course.getTitle());
+                studentProgress.put("mentorName", course.getMentorId());
+            }
 
-            // Progress calculation
-            long totalModules = moduleRepository.countByCourseId(enrollment.getCourseId());
-            long completedModules = enrollment.getCompletedModules() != null ? enrollment.getCompletedModules().size()
-                    : 0;
+            // Progress from the maintained counters; older enrollments fall back to the set size
+            long totalModules = enrollment.getCourseId() == null ? 0
+                    : moduleCounts.getOrDefault(enrollment.getCourseId(), 0L);
+            long completedModules = enrollment.getCompletedCount() != null ? enrollment.getCompletedCount()
+                    : enrollment.getCompletedModules() != null ? enrollment.getCompletedModules().size() : 0;
 
-            int progressPercentage = totalModules > 0 ? (int) Math.round((double) completedModules / totalModules * 100)
-                    : 0;
+            int progressPercentage;
+            if (enrollment.getPercentComplete() != null) {
+                progressPercentage = (int) Math.round(enrollment.getPercentComplete());
+            } else {
+                progressPercentage = totalModules > 0
+                        ? (int) Math.round(Math.min(1.0, (double) completedModules / totalModules) * 100)
+                        : 0;
+            }
 
             studentProgress.put("progress", progressPercentage);
             studentProgress.put("completedModules", completedModules);
@@ -430,6 +653,30 @@ public class AdminService {
         return progress;
     }
 
+    // Courses written before moduleCount existed are counted from their modules, on the same reporting read
+    private Map<String, Long> moduleCounts(Collection<Course> courses) {
+        Map<String, Long> counts = new HashMap<>();
+        Set<String> uncounted = new HashSet<>();
+        for (Course course : courses) {
+            if (course.getModuleCount() != null) {
+                counts.put(course.getId(), course.getModuleCount().longValue());
+            } else {
+                uncounted.add(course.getId());
+            }
+        }
+        if (!uncounted.isEmpty()) {
+            Query moduleQuery = reportingReads.query(Criteria.where("courseId").in(uncounted));
+            moduleQuery.fields().include("courseId");
+            mongoTemplate.find(moduleQuery, Module.class)
+                    .forEach(m -> counts.merge(m.getCourseId(), 1L, Long::sum));
+        }
+        return counts;
+    }
+
+    public Map<String, Object> repairProgressCounters() {
+        return courseProgressService.repair();
+    }
+
     // Mapping helpers
     private UserDTO toUserDTO(User user) {
         UserDTO dto = new UserDTO();
@@ -441,6 +688,51 @@ public class AdminService {
         return dto;
     }
 
+    private UserDTO toUserDTO(UserSummary user) {
+        UserDTO dto = new UserDTO();
+        dto.setId(user.getId());
+        dto.setName(user.getName());
+        dto.setEmail(user.getEmail());
+        dto.setRole(user.getRole());
+        dto.setActive(user.getActive() == null || user.getActive());
+        dto.setCreatedAt(user.getCreatedAt());
+        return dto;
+    }
+
+    private MentorDTO toMentorDTO(MentorSummary mentor, Map<String, UserContact> users) {
+        MentorDTO dto = new MentorDTO();
+        dto.setId(mentor.getId());
+        UserContact user = mentor.getUserId() == null ? null : users.get(mentor.getUserId());
+        if (user != null) {
+            dto.setName(user.getName());
+            dto.setEmail(user.getEmail());
+        }
+        dto.setExpertise(mentor.getExpertise());
+        dto.setBio(mentor.getBio());
+        dto.setImageUrl(mentor.getImageUrl());
+        return dto;
+    }
+
+    private CourseDTO toCourseDTO(CourseSummary course, Map<String, MentorSummary> mentors,
+            Map<String, UserContact> users) {
+        CourseDTO dto = new CourseDTO();
+        dto.setId(course.getId());
+        dto.setTitle(course.getTitle());
+        dto.setDescription(course.getDescription());
+        dto.setPrice(course.getPrice());
+        dto.setImageUrl(course.getImageUrl());
+        dto.setMentorId(course.getMentorId());
+        MentorSummary mentor = course.getMentorId() == null ? null : mentors.get(course.getMentorId());
+        if (mentor != null) {
+            dto.setMentorImageUrl(mentor.getImageUrl());
+            UserContact user = mentor.getUserId() == null ? null : users.get(mentor.getUserId());
+            if (user != null) {
+                dto.setMentorName(user.getName());
+            }
+        }
+        return dto;
+    }
+
     private MentorDTO toMentorDTO(Mentor mentor) {
         MentorDTO dto = new MentorDTO();
         dto.setId(mentor.getId());
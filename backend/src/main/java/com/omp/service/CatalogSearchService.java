@@ -0,0 +1,258 @@
+package com.omp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.omp.dto.CatalogSuggestion;
+import com.omp.dto.CourseDTO;
+import com.omp.dto.CourseSearchHit;
+import com.omp.entity.Course;
+import com.omp.entity.Mentor;
+import com.omp.entity.Module;
+import com.omp.repository.CourseRepository;
+import com.omp.repository.MentorRepository;
+import com.omp.repository.ModuleRepository;
+import com.omp.repository.UserRepository;
+import com.omp.search.InvertedIndex;
+import com.omp.search.Suggester;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Public catalog search over course title and description, module titles
+ * and summaries, and mentor expertise. The index is built from the
+ * repositories at startup and patched per course by the admin CRUD, so a
+ * query never touches Mongo. The same writes keep the typeahead suggester
+ * (course titles and mentor names) current. Writers take a lock rather
+ * than a monitor, since they read from Mongo while holding it and a
+ * virtual thread blocked on a monitor pins its carrier.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSearchService.class);
+    private static final int MAX_LIMIT = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final String COURSE = "course";
+    private static final String MENTOR = "mentor";
+
+    private final CourseRepository courseRepository;
+    private final ModuleRepository moduleRepository;
+    private final MentorRepository mentorRepository;
+    private final UserRepository userRepository;
+    private final ThreadFactory fanOutThreadFactory;
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final Suggester suggester = new Suggester();
+    private final Map<String, CourseDTO> courses = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile boolean built;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // Retried on the first search, or in the background on the first suggestion
+            logger.warn("Catalog search index not built at startup: {}", e.getMessage());
+        }
+    }
+
+    public void rebuild() {
+        lock.lock();
+        try {
+            build();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void build() {
+        long started = System.currentTimeMillis();
+        Map<String, List<Module>> modulesByCourse = moduleRepository.findAll().stream()
+                .filter(m -> m.getCourseId() != null)
+                .collect(Collectors.groupingBy(Module::getCourseId));
+        Map<String, Mentor> mentors = mentorRepository.findAll().stream()
+                .collect(Collectors.toMap(Mentor::getId, Function.identity()));
+        Map<String, String> userNames = userRepository.findContactsByIdIn(mentors.values().stream()
+                .map(Mentor::getUserId).filter(id -> id != null).collect(Collectors.toSet())).stream()
+                .filter(u -> u.getName() != null)
+                .collect(Collectors.toMap(UserRepository.UserContact::getId, UserRepository.UserContact::getName));
+
+        index.clear();
+        courses.clear();
+        List<Suggester.Suggestion> suggestions = new ArrayList<>();
+        for (Course course : courseRepository.findAll()) {
+            Mentor mentor = course.getMentorId() == null ? null : mentors.get(course.getMentorId());
+            put(course, modulesByCourse.getOrDefault(course.getId(), List.of()), mentor,
+                    mentor == null || mentor.getUserId() == null ? null : userNames.get(mentor.getUserId()));
+            if (course.getTitle() != null) {
+                suggestions.add(new Suggester.Suggestion(COURSE, course.getId(), course.getTitle(), 1.0f));
+            }
+        }
+        for (Mentor mentor : mentors.values()) {
+            String name = mentor.getUserId() == null ? null : userNames.get(mentor.getUserId());
+            if (name != null) {
+                suggestions.add(new Suggester.Suggestion(MENTOR, mentor.getId(), name, 1.0f));
+            }
+        }
+        suggester.replaceAll(suggestions);
+        built = true;
+        logger.info("Catalog search index built: {} courses in {} ms", courses.size(),
+                System.currentTimeMillis() - started);
+    }
+
+    public List<CourseSearchHit> search(String query, Integer limit) {
+        ensureBuilt();
+        int size = limit == null || limit <= 0 ? 20 : Math.min(limit, MAX_LIMIT);
+        return index.search(query, size).stream()
+                .map(hit -> {
+                    CourseDTO course = courses.get(hit.getId());
+                    return course == null ? null : new CourseSearchHit(course, hit.getScore());
+                })
+                .filter(hit -> hit != null)
+                .collect(Collectors.toList());
+    }
+
+    // Per-keystroke typeahead over course titles and mentor names
+    public List<CatalogSuggestion> suggest(String prefix, Integer limit) {
+        if (!built) {
+            // A keystroke should not wait for a full rebuild; the next ones get suggestions
+            rebuildInBackground();
+            return List.of();
+        }
+        int size = limit == null || limit <= 0 ? 8 : Math.min(limit, MAX_SUGGESTIONS);
+        return suggester.suggest(prefix, size).stream()
+                .map(s -> new CatalogSuggestion(s.getType(), s.getId(), s.getLabel()))
+                .collect(Collectors.toList());
+    }
+
+    // Incremental updates from the admin CRUD; failures only leave the index stale until the next rebuild
+    public void courseChanged(String courseId) {
+        if (courseId == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            Optional<Course> course = courseRepository.findById(courseId);
+            if (course.isEmpty()) {
+                courseRemoved(courseId);
+                return;
+            }
+            Mentor mentor = course.get().getMentorId() == null ? null
+                    : mentorRepository.findById(course.get().getMentorId()).orElse(null);
+            put(course.get(), moduleRepository.findByCourseId(courseId), mentor, mentorName(mentor));
+            if (course.get().getTitle() != null) {
+                suggester.put(new Suggester.Suggestion(COURSE, courseId, course.get().getTitle(), 1.0f));
+            } else {
+                suggester.remove(COURSE, courseId);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not reindex course {}: {}", courseId, e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void courseRemoved(String courseId) {
+        lock.lock();
+        try {
+            index.remove(courseId);
+            courses.remove(courseId);
+            suggester.remove(COURSE, courseId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void mentorChanged(String mentorId) {
+        try {
+            Mentor mentor = mentorRepository.findById(mentorId).orElse(null);
+            String name = mentorName(mentor);
+            if (name == null) {
+                suggester.remove(MENTOR, mentorId);
+            } else {
+                suggester.put(new Suggester.Suggestion(MENTOR, mentorId, name, 1.0f));
+            }
+            courseRepository.findByMentorId(mentorId).forEach(c -> courseChanged(c.getId()));
+        } catch (Exception e) {
+            logger.warn("Could not reindex courses of mentor {}: {}", mentorId, e.getMessage());
+        }
+    }
+
+    // Mentor names come from their user; a rename refreshes the suggestion and the mentor's courses
+    public void userRenamed(String userId) {
+        try {
+            mentorRepository.findSummariesByUserId(userId).forEach(m -> mentorChanged(m.getId()));
+        } catch (Exception e) {
+            logger.warn("Could not reindex mentor of user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    // Concurrent first searches before the startup build wait for one rebuild instead of each running it
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (!built) {
+                build();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rebuildInBackground() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        fanOutThreadFactory.newThread(() -> {
+            try {
+                ensureBuilt();
+            } catch (Exception e) {
+                logger.warn("Catalog search index not built: {}", e.getMessage());
+            } finally {
+                rebuilding.set(false);
+            }
+        }).start();
+    }
+
+    private void put(Course course, List<Module> modules, Mentor mentor, String mentorName) {
+        InvertedIndex.Doc doc = new InvertedIndex.Doc()
+                .add(course.getTitle(), 3.0f)
+                .add(course.getDescription(), 1.0f);
+        for (Module module : modules) {
+            doc.add(module.getTitle(), 1.5f).add(module.getSummary(), 0.5f);
+        }
+        if (mentor != null) {
+            doc.add(mentor.getExpertise(), 1.2f);
+        }
+        doc.add(mentorName, 1.0f);
+        courses.put(course.getId(), CourseService.toCourseDTO(course, mentor, mentorName));
+        index.put(course.getId(), doc);
+    }
+
+    private String mentorName(Mentor mentor) {
+        if (mentor == null || mentor.getUserId() == null) {
+            return null;
+        }
+        return userRepository.findById(mentor.getUserId()).map(u -> u.getName()).orElse(null);
+    }
+}
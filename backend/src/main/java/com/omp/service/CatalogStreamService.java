@@ -0,0 +1,116 @@
+package com.omp.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.omp.dto.CourseDTO;
+import com.omp.dto.MentorDTO;
+import com.omp.dto.ModuleDTO;
+import com.omp.entity.Course;
+import com.omp.entity.Enrollment;
+import com.omp.entity.Mentor;
+import com.omp.entity.Module;
+import com.omp.entity.User;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive reads behind the NDJSON catalog endpoints, producing the same
+ * DTOs as {@link CourseService} and {@link MentorService}. Each element is
+ * written as soon as it is mapped, and demand flows back to the cursor:
+ * MVC requests the next element once the previous one is written, so a
+ * slow client slows the reads instead of buffering the catalog in memory.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogStreamService {
+    // Courses whose mentors and mentor names are fetched with one query each
+    private static final int COURSE_BATCH = 64;
+    // Mentors whose course and student counts run at the same time
+    private static final int MENTOR_CONCURRENCY = 4;
+
+    private final ReactiveMongoTemplate mongo;
+
+    public Flux<CourseDTO> courses() {
+        return mongo.findAll(Course.class)
+                .buffer(COURSE_BATCH)
+                .concatMap(this::withMentors);
+    }
+
+    public Flux<ModuleDTO> modules(String courseId) {
+        return mongo.find(Query.query(Criteria.where("courseId").is(courseId)), Module.class)
+                .map(m -> CourseService.toModuleDTO(m, courseId));
+    }
+
+    // In catalog order; counts for a few mentors are in flight at once
+    public Flux<MentorDTO> mentors() {
+        return mongo.findAll(Mentor.class)
+                .flatMapSequential(this::withCounts, MENTOR_CONCURRENCY);
+    }
+
+    private Flux<CourseDTO> withMentors(List<Course> courses) {
+        Set<String> mentorIds = courses.stream().map(Course::getMentorId).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (mentorIds.isEmpty()) {
+            return Flux.fromIterable(courses).map(c -> CourseService.toCourseDTO(c, null, null));
+        }
+        return mongo.find(Query.query(Criteria.where("_id").in(mentorIds)), Mentor.class)
+                .collectMap(Mentor::getId)
+                .flatMapMany(mentors -> mentorNames(mentors).flatMapMany(names -> Flux.fromIterable(courses)
+                        .map(c -> {
+                            Mentor mentor = c.getMentorId() == null ? null : mentors.get(c.getMentorId());
+                            String name = mentor == null || mentor.getUserId() == null ? null
+                                    : names.get(mentor.getUserId());
+                            return CourseService.toCourseDTO(c, mentor, name);
+                        })));
+    }
+
+    private Mono<Map<String, String>> mentorNames(Map<String, Mentor> mentors) {
+        Set<String> userIds = mentors.values().stream().map(Mentor::getUserId).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (userIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        Query users = Query.query(Criteria.where("_id").in(userIds));
+        users.fields().include("name");
+        return mongo.find(users, User.class)
+                .filter(u -> u.getName() != null)
+                .collectMap(User::getId, User::getName);
+    }
+
+    private Mono<MentorDTO> withCounts(Mentor mentor) {
+        Query courses = Query.query(Criteria.where("mentorId").is(mentor.getId()));
+        courses.fields().include("_id");
+        return mongo.find(courses, Course.class)
+                .map(Course::getId)
+                .collectList()
+                .flatMap(courseIds -> distinctStudents(courseIds)
+                        .map(students -> MentorService.toDTO(mentor, courseIds.size(), students)));
+    }
+
+    // Counted in Mongo rather than by reading every enrollment
+    private Mono<Long> distinctStudents(List<String> courseIds) {
+        if (courseIds.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return mongo.aggregate(Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("courseId").in(courseIds)),
+                Aggregation.group("userId"),
+                Aggregation.count().as("students")), Enrollment.class, Document.class)
+                .next()
+                .map(d -> ((Number) d.get("students")).longValue())
+                .defaultIfEmpty(0L);
+    }
+}
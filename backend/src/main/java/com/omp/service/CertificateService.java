@@ -11,6 +11,7 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import javax.imageio.ImageIO;
 
@@ -22,6 +23,7 @@ import com.omp.entity.Course;
 import com.omp.entity.Enrollment;
 import com.omp.entity.User;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -33,18 +35,13 @@ public class CertificateService {
     private final FileStorageService fileStorageService;
     private final com.omp.repository.MentorRepository mentorRepository;
     private final com.omp.repository.UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
 
     public String generateCertificate(User user, Course course, Enrollment enrollment) {
         try {
-            logger.info("Generating certificate for user: {}, course: {}", user.getName(), course.getTitle());
+            logger.debug("Generating certificate for user {} in course {}", user.getId(), course.getId());
 
-            // Create certificate image
-            BufferedImage certificate = createCertificateImage(user, course, enrollment);
-
-            // Convert to bytes
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(certificate, "PNG", baos);
-            byte[] imageBytes = baos.toByteArray();
+            byte[] imageBytes = renderPng(user, course, enrollment);
 
             // Generate unique filename with timestamp
             String timestamp = String.valueOf(System.currentTimeMillis());
@@ -66,6 +63,20 @@ public class CertificateService {
         }
     }
 
+    // Drawing and PNG encoding are timed separately, as certificate.render{phase}
+    private byte[] renderPng(User user, Course course, Enrollment enrollment) throws IOException {
+        long started = System.nanoTime();
+        BufferedImage certificate = createCertificateImage(user, course, enrollment);
+        long drawn = System.nanoTime();
+        meterRegistry.timer("certificate.render", "phase", "draw").record(drawn - started, TimeUnit.NANOSECONDS);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ImageIO.write(certificate, "PNG", baos);
+        meterRegistry.timer("certificate.render", "phase", "encode")
+                .record(System.nanoTime() - drawn, TimeUnit.NANOSECONDS);
+        return baos.toByteArray();
+    }
+
     private BufferedImage createCertificateImage(User user, Course course, Enrollment enrollment) {
         // Create a certificate image with dimensions 1400x900 for better proportions
         BufferedImage image = new BufferedImage(1400, 900, BufferedImage.TYPE_INT_RGB);
@@ -214,13 +225,7 @@ public class CertificateService {
 
     public byte[] generateCertificateBytes(User user, Course course, Enrollment enrollment) {
         try {
-            // Create certificate image
-            BufferedImage certificate = createCertificateImage(user, course, enrollment);
-
-            // Convert to bytes
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(certificate, "PNG", baos);
-            return baos.toByteArray();
+            return renderPng(user, course, enrollment);
         } catch (IOException e) {
             throw new RuntimeException("Failed to generate certificate bytes", e);
         }
@@ -0,0 +1,116 @@
+package com.omp.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.omp.dto.CourseAccessDTO;
+import com.omp.dto.PaymentDTO;
+import com.omp.entity.Enrollment;
+import com.omp.entity.Payment;
+import com.omp.entity.Payment.PaymentStatus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Answers "paid / enrolled / progress" for a (user, course) pair with a
+ * single aggregation: the completed payment is matched on the payments
+ * indexes and the enrollment's progress counters are pulled in with an
+ * uncorrelated $lookup. Answers are cached per user for a short time and
+ * dropped whenever a payment or enrollment of that user changes.
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseAccessService implements MeterBinder {
+    private final MongoTemplate mongoTemplate;
+    private final ModuleCourseCache moduleCourseCache;
+
+    private final Cache<String, Map<String, CourseAccessDTO>> entitlements = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(30))
+            .maximumSize(10_000)
+            .recordStats()
+            .build();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, entitlements, "courses.access");
+    }
+
+    public CourseAccessDTO getAccess(String userId, String courseId) {
+        Map<String, CourseAccessDTO> byCourse = entitlements.get(userId, k -> new ConcurrentHashMap<>());
+        CourseAccessDTO access = byCourse.get(courseId);
+        if (access == null) {
+            access = load(userId, courseId);
+            byCourse.put(courseId, access);
+        }
+        return access;
+    }
+
+    public void invalidate(String userId) {
+        if (userId != null) {
+            entitlements.invalidate(userId);
+        }
+    }
+
+    private CourseAccessDTO load(String userId, String courseId) {
+        String paymentsCollection = mongoTemplate.getCollectionName(Payment.class);
+        String enrollmentsCollection = mongoTemplate.getCollectionName(Enrollment.class);
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("userId", userId)
+                        .append("courseId", courseId)
+                        .append("status", PaymentStatus.COMPLETED.name())),
+                new Document("$limit", 1),
+                new Document("$lookup", new Document("from", enrollmentsCollection)
+                        .append("pipeline", List.of(
+                                new Document("$match", new Document("userId", userId).append("courseId", courseId)),
+                                new Document("$limit", 1),
+                                new Document("$project", new Document("completed",
+                                        new Document("$ifNull", List.of("$completedCount",
+                                                new Document("$size", new Document("$ifNull",
+                                                        List.of("$completedModules", List.of()))))))
+                                        .append("percent", "$percentComplete"))))
+                        .append("as", "enrollment")));
+
+        Document row = mongoTemplate.getCollection(paymentsCollection).aggregate(pipeline).first();
+        if (row == null) {
+            // No completed payment means no enrollment either (enroll() requires payment)
+            return new CourseAccessDTO(false, null, false, 0, 0, 0.0);
+        }
+
+        List<Document> enrollment = row.getList("enrollment", Document.class, List.of());
+        long completed = enrollment.isEmpty() ? 0 : enrollment.get(0).getInteger("completed", 0);
+        Number percent = enrollment.isEmpty() ? null : enrollment.get(0).get("percent", Number.class);
+        long total = moduleCourseCache.moduleCount(courseId);
+
+        row.remove("enrollment");
+        Payment payment = mongoTemplate.getConverter().read(Payment.class, row);
+
+        double progress = percent != null ? percent.doubleValue() / 100.0
+                : total == 0 ? 0.0 : Math.min(1.0, (double) completed / total);
+        return new CourseAccessDTO(true, toPaymentDTO(payment), !enrollment.isEmpty(), completed, total, progress);
+    }
+
+    private PaymentDTO toPaymentDTO(Payment payment) {
+        PaymentDTO dto = new PaymentDTO();
+        dto.setId(payment.getId());
+        dto.setUserId(payment.getUserId());
+        dto.setCourseId(payment.getCourseId());
+        dto.setAmount(payment.getAmount());
+        dto.setStatus(payment.getStatus());
+        dto.setPaymentMethod(payment.getPaymentMethod());
+        dto.setTransactionId(payment.getTransactionId());
+        dto.setPaymentDate(payment.getPaymentDate());
+        dto.setPaymentProofUrl(payment.getPaymentProofUrl());
+        return dto;
+    }
+}
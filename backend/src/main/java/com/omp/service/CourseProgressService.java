@@ -0,0 +1,118 @@
+package com.omp.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.omp.entity.Course;
+import com.omp.entity.Enrollment;
+import com.omp.entity.Module;
+import com.omp.repository.ModuleRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maintains the denormalized progress fields: {@code Course.moduleCount} and
+ * each enrollment's completedCount / percentComplete / completedAt. Module
+ * CRUD adjusts them with atomic updates; {@link #repair()} recomputes them
+ * from the modules collection to fix any drift.
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseProgressService {
+    private static final Logger logger = LoggerFactory.getLogger(CourseProgressService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ModuleRepository moduleRepository;
+    private final ModuleCourseCache moduleCourseCache;
+
+    public void moduleAdded(String courseId, String moduleId) {
+        long moduleCount = adjustModuleCount(courseId, 1);
+        // A new module lowers everyone's percentage and may un-complete the course
+        mongoTemplate.updateMulti(Query.query(Criteria.where("courseId").is(courseId)),
+                ProgressUpdates.recompute(moduleCount), Enrollment.class);
+        moduleCourseCache.moduleCreated(moduleId, courseId, moduleCount);
+    }
+
+    public void moduleRemoved(String courseId, String moduleId) {
+        long moduleCount = adjustModuleCount(courseId, -1);
+        mongoTemplate.updateMulti(Query.query(Criteria.where("courseId").is(courseId)),
+                ProgressUpdates.removeModule(moduleId, moduleCount), Enrollment.class);
+        moduleCourseCache.moduleDeleted(moduleId, courseId, moduleCount);
+    }
+
+    // $inc the maintained count; courses that predate the field are initialised from a count
+    private long adjustModuleCount(String courseId, int delta) {
+        Criteria criteria = Criteria.where("_id").is(courseId).and("moduleCount").exists(true);
+        if (delta < 0) {
+            criteria = criteria.gt(0);
+        }
+        Query query = Query.query(criteria);
+        query.fields().include("moduleCount");
+        Course course = mongoTemplate.findAndModify(query, new Update().inc("moduleCount", delta),
+                FindAndModifyOptions.options().returnNew(true), Course.class);
+        if (course != null && course.getModuleCount() != null) {
+            return course.getModuleCount();
+        }
+        long count = moduleRepository.countByCourseId(courseId);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(courseId)),
+                new Update().set("moduleCount", (int) count), Course.class);
+        return count;
+    }
+
+    @Scheduled(cron = "${progress.repair.cron:0 30 3 * * *}")
+    public void scheduledRepair() {
+        Map<String, Object> report = repair();
+        logger.info("Progress repair: {}", report);
+    }
+
+    // Recomputes every course's moduleCount and its enrollments' counters from the modules collection
+    public Map<String, Object> repair() {
+        long started = System.currentTimeMillis();
+
+        Map<String, List<String>> modulesByCourse = new HashMap<>();
+        String modules = mongoTemplate.getCollectionName(Module.class);
+        mongoTemplate.getCollection(modules).aggregate(List.of(
+                new Document("$group", new Document("_id", "$courseId")
+                        .append("ids", new Document("$push", new Document("$toString", "$_id"))))))
+                .forEach(row -> modulesByCourse.put(row.getString("_id"), row.getList("ids", String.class)));
+
+        Query coursesQuery = new Query();
+        coursesQuery.fields().include("moduleCount");
+        List<Course> courses = mongoTemplate.find(coursesQuery, Course.class);
+
+        long coursesFixed = 0;
+        long enrollmentsFixed = 0;
+        for (Course course : courses) {
+            List<String> moduleIds = modulesByCourse.getOrDefault(course.getId(), new ArrayList<>());
+            if (!Objects.equals(course.getModuleCount(), moduleIds.size())) {
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(course.getId())),
+                        new Update().set("moduleCount", moduleIds.size()), Course.class);
+                moduleCourseCache.moduleCountChanged(course.getId());
+                coursesFixed++;
+            }
+            enrollmentsFixed += mongoTemplate.updateMulti(Query.query(Criteria.where("courseId").is(course.getId())),
+                    ProgressUpdates.retainModules(moduleIds), Enrollment.class).getModifiedCount();
+        }
+
+        Map<String, Object> report = new HashMap<>();
+        report.put("courses", courses.size());
+        report.put("coursesFixed", coursesFixed);
+        report.put("enrollmentsFixed", enrollmentsFixed);
+        report.put("elapsedMs", System.currentTimeMillis() - started);
+        return report;
+    }
+}
@@ -10,7 +10,9 @@ import org.springframework.stereotype.Service;
 import com.omp.dto.CourseDTO;
 import com.omp.dto.ModuleDTO;
 import com.omp.entity.Course;
+import com.omp.entity.Mentor;
 import com.omp.entity.Module;
+import com.omp.entity.User;
 import com.omp.repository.CourseRepository;
 import com.omp.repository.MentorRepository;
 import com.omp.repository.ModuleRepository;
@@ -38,23 +40,14 @@ public class CourseService {
     }
 
     public List<ModuleDTO> getModuleTitlesForCourse(String courseId) {
-        logger.info("Getting modules for course ID: {}", courseId);
+        logger.debug("Getting modules for course ID: {}", courseId);
         try {
             List<Module> modules = moduleRepository.findAll().stream()
                     .filter(m -> courseId.equals(m.getCourseId()))
                     .collect(Collectors.toList());
-            logger.info("Found {} modules for course ID: {}", modules.size(), courseId);
+            logger.debug("Found {} modules for course ID: {}", modules.size(), courseId);
 
-            return modules.stream().map(m -> {
-                ModuleDTO dto = new ModuleDTO();
-                dto.setId(m.getId());
-                dto.setTitle(m.getTitle());
-                dto.setVideoUrl(m.getVideoUrl());
-                dto.setSummary(m.getSummary());
-                dto.setResourceUrl(m.getResourceUrl());
-                dto.setCourseId(courseId);
-                return dto;
-            }).collect(Collectors.toList());
+            return modules.stream().map(m -> toModuleDTO(m, courseId)).collect(Collectors.toList());
         } catch (Exception e) {
             logger.error("Error getting modules for course ID {}: {}", courseId, e.getMessage(), e);
             throw e;
@@ -62,6 +55,16 @@ public class CourseService {
     }
 
     private CourseDTO toCourseDTO(Course course) {
+        // Fetch mentor information, and the mentor's name from their User
+        Mentor mentor = course.getMentorId() == null ? null
+                : mentorRepository.findById(course.getMentorId()).orElse(null);
+        String mentorName = mentor == null || mentor.getUserId() == null ? null
+                : userRepository.findById(mentor.getUserId()).map(User::getName).orElse(null);
+        return toCourseDTO(course, mentor, mentorName);
+    }
+
+    // Shared with the streaming reads in CatalogStreamService
+    static CourseDTO toCourseDTO(Course course, Mentor mentor, String mentorName) {
         CourseDTO dto = new CourseDTO();
         dto.setId(course.getId());
         dto.setTitle(course.getTitle());
@@ -69,21 +72,21 @@ public class CourseService {
         dto.setPrice(course.getPrice());
         dto.setImageUrl(course.getImageUrl());
         dto.setMentorId(course.getMentorId());
-
-        // Fetch mentor information
-        if (course.getMentorId() != null) {
-            mentorRepository.findById(course.getMentorId()).ifPresent(mentor -> {
-                // Set mentor image from Mentor entity
-                dto.setMentorImageUrl(mentor.getImageUrl());
-
-                // Fetch mentor name from User entity
-                if (mentor.getUserId() != null) {
-                    userRepository.findById(mentor.getUserId())
-                            .ifPresent(user -> dto.setMentorName(user.getName()));
-                }
-            });
+        if (mentor != null) {
+            dto.setMentorImageUrl(mentor.getImageUrl());
+            dto.setMentorName(mentorName);
         }
+        return dto;
+    }
 
+    static ModuleDTO toModuleDTO(Module module, String courseId) {
+        ModuleDTO dto = new ModuleDTO();
+        dto.setId(module.getId());
+        dto.setTitle(module.getTitle());
+        dto.setVideoUrl(module.getVideoUrl());
+        dto.setSummary(module.getSummary());
+        dto.setResourceUrl(module.getResourceUrl());
+        dto.setCourseId(courseId);
         return dto;
     }
 }
\ No newline at end of file
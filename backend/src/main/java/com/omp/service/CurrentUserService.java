@@ -0,0 +1,74 @@
+package com.omp.service;
+
+import java.security.Principal;
+import java.time.Duration;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.omp.repository.UserRepository;
+import com.omp.security.UserSnapshot;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Resolves a principal email to a {@link UserSnapshot}. Snapshots are cached
+ * for a minute and dropped whenever the user's name, email, role, active flag
+ * or existence changes.
+ */
+@Service
+@RequiredArgsConstructor
+public class CurrentUserService implements MeterBinder {
+    private final UserRepository userRepository;
+
+    private final Cache<String, UserSnapshot> byEmail = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(60))
+            .maximumSize(50_000)
+            .recordStats()
+            .build();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byEmail, "users.byEmail");
+    }
+
+    public UserSnapshot load(String email) {
+        UserSnapshot snapshot = byEmail.get(email,
+                k -> userRepository.findByEmail(k).map(UserSnapshot::of).orElse(null));
+        if (snapshot == null) {
+            throw new UsernameNotFoundException("User not found");
+        }
+        return snapshot;
+    }
+
+    // The filter already put the snapshot on the request; other principals go through the cache
+    public UserSnapshot resolve(Principal principal) {
+        if (principal == null) {
+            throw new IllegalArgumentException("User not found");
+        }
+        if (principal instanceof Authentication auth && auth.getPrincipal() instanceof UserSnapshot snapshot) {
+            return snapshot;
+        }
+        try {
+            return load(principal.getName());
+        } catch (UsernameNotFoundException e) {
+            throw new IllegalArgumentException("User not found");
+        }
+    }
+
+    public String userId(Principal principal) {
+        return resolve(principal).getId();
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            byEmail.invalidate(email);
+        }
+    }
+}
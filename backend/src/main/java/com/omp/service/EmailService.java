@@ -1,5 +1,9 @@
 package com.omp.service;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,15 +11,24 @@ import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
-public class EmailService {
+public class EmailService implements MeterBinder {
     
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
     
     private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+
+    // Mail goes out on the request thread, so there is no queue: this is how many sends are in progress
+    private final AtomicInteger sending = new AtomicInteger();
+    // An unreachable SMTP server would otherwise hold each request for the full connect timeout
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker("mail", 5, Duration.ofMinutes(1));
     
     @Value("${spring.mail.username}")
     private String fromEmail;
@@ -45,11 +58,10 @@ public class EmailService {
             
             message.setText(emailBody);
             
-            mailSender.send(message);
-            logger.info("Password reset email sent successfully to: {}", toEmail);
+            send("password_reset", message);
         } catch (Exception e) {
             // Log error but don't throw - email is optional, password reset should still work
-            logger.warn("Failed to send password reset email to: {} - Error: {}", toEmail, e.getMessage());
+            logger.warn("Failed to send password reset email: {}", e.getMessage());
             logger.debug("Email sending failed - this may be due to email not being configured in production", e);
         }
     }
@@ -72,14 +84,45 @@ public class EmailService {
             
             message.setText(emailBody);
             
-            mailSender.send(message);
-            logger.info("Password reset confirmation email sent to: {}", toEmail);
+            send("password_reset_confirmation", message);
         } catch (Exception e) {
-            logger.error("Failed to send confirmation email to: {}", toEmail, e);
+            logger.error("Failed to send password reset confirmation email", e);
             // Don't throw exception here as password was already reset
         }
     }
 
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mail.send.active", sending, AtomicInteger::get).register(registry);
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    // mail.send{type, outcome}
+    private void send(String type, SimpleMailMessage message) {
+        if (!circuitBreaker.tryAcquire()) {
+            meterRegistry.counter("mail.send.rejected", "type", type).increment();
+            throw new IllegalStateException("Mail circuit is open; not sending");
+        }
+        long started = System.nanoTime();
+        String outcome = "error";
+        sending.incrementAndGet();
+        try {
+            mailSender.send(message);
+            outcome = "success";
+            circuitBreaker.onSuccess();
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            throw e;
+        } finally {
+            sending.decrementAndGet();
+            meterRegistry.timer("mail.send", "type", type, "outcome", outcome)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
     private String buildResetUrl(String resetToken) {
         String base = frontendBaseUrl == null ? "" : frontendBaseUrl.trim();
         if (base.endsWith("/")) {
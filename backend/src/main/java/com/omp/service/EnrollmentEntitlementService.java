@@ -0,0 +1,110 @@
+package com.omp.service;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.omp.repository.EnrollmentRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * In-memory enrollment checks for the student learning path. Every course
+ * gets a dense ordinal and each active user's enrolled courses are held as a
+ * copy-on-write {@link BitSet} of those ordinals, loaded once per session.
+ * A miss is re-checked against Mongo, so enrollments made on another
+ * instance are picked up; only positive answers come from memory.
+ */
+@Service
+@RequiredArgsConstructor
+public class EnrollmentEntitlementService implements MeterBinder {
+    private final EnrollmentRepository enrollmentRepository;
+
+    private final ConcurrentHashMap<String, Integer> ordinals = new ConcurrentHashMap<>();
+    private final AtomicInteger nextOrdinal = new AtomicInteger();
+
+    private final Cache<String, BitSet> enrolledCourses = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofHours(1))
+            .maximumSize(50_000)
+            .recordStats()
+            .build();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, enrolledCourses, "enrollments.courses");
+    }
+
+    public boolean isEnrolled(String userId, String courseId) {
+        BitSet courses = enrolledCourses.get(userId, this::load);
+        Integer ordinal = ordinals.get(courseId);
+        if (ordinal != null && courses.get(ordinal)) {
+            return true;
+        }
+        if (enrollmentRepository.existsByUserIdAndCourseId(userId, courseId)) {
+            grant(userId, courseId);
+            return true;
+        }
+        return false;
+    }
+
+    public void requireEnrollment(String userId, String courseId) {
+        if (!isEnrolled(userId, courseId)) {
+            throw new IllegalArgumentException("Not enrolled in this course");
+        }
+    }
+
+    // Called by enroll(); users without a loaded set pick the course up on their next load
+    public void grant(String userId, String courseId) {
+        int ordinal = ordinalOf(courseId);
+        enrolledCourses.asMap().computeIfPresent(userId, (k, current) -> {
+            if (current.get(ordinal)) {
+                return current;
+            }
+            BitSet next = (BitSet) current.clone();
+            next.set(ordinal);
+            return next;
+        });
+    }
+
+    // Called on course deletion; the ordinal is retired and never reused
+    public void removeCourse(String courseId) {
+        Integer ordinal = ordinals.remove(courseId);
+        if (ordinal == null) {
+            return;
+        }
+        enrolledCourses.asMap().replaceAll((userId, current) -> {
+            if (!current.get(ordinal)) {
+                return current;
+            }
+            BitSet next = (BitSet) current.clone();
+            next.clear(ordinal);
+            return next;
+        });
+    }
+
+    public void evictUser(String userId) {
+        enrolledCourses.invalidate(userId);
+    }
+
+    private BitSet load(String userId) {
+        BitSet courses = new BitSet();
+        for (EnrollmentRepository.CourseRef ref : enrollmentRepository.findCourseRefsByUserId(userId)) {
+            if (ref.getCourseId() != null) {
+                courses.set(ordinalOf(ref.getCourseId()));
+            }
+        }
+        return courses;
+    }
+
+    private int ordinalOf(String courseId) {
+        return ordinals.computeIfAbsent(courseId, k -> nextOrdinal.getAndIncrement());
+    }
+}
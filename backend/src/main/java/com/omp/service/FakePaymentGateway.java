@@ -0,0 +1,35 @@
+package com.omp.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import com.omp.config.ReconciliationProperties;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Local stand-in for the Razorpay orders API, for running reconciliation
+ * without network access. Each order id maps deterministically to a state and
+ * every lookup sleeps for the configured latency.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "payments.reconciliation.fake-provider", havingValue = "true")
+@RequiredArgsConstructor
+public class FakePaymentGateway implements PaymentGateway {
+    private final ReconciliationProperties properties;
+
+    @Override
+    public Order fetchOrder(String providerOrderId) throws InterruptedException {
+        if (properties.getFakeLatencyMs() > 0) {
+            Thread.sleep(properties.getFakeLatencyMs());
+        }
+        double bucket = Math.floorMod(providerOrderId.hashCode(), 1000) / 1000.0;
+        if (bucket < properties.getFakePaidRatio()) {
+            return new Order(OrderStatus.PAID, "pay_fake_" + providerOrderId);
+        }
+        return new Order(bucket < (1 + properties.getFakePaidRatio()) / 2 ? OrderStatus.ATTEMPTED
+                : OrderStatus.CREATED, null);
+    }
+}
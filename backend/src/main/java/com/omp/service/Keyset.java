@@ -0,0 +1,150 @@
+package com.omp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.omp.dto.CursorPage;
+
+/**
+ * Keyset (seek) pagination over a sort field with {@code _id} as tie-breaker.
+ * The continuation token encodes the sort, the last row's sort value and its
+ * id, so pages stay stable while rows are inserted or deleted and every page
+ * is an index range scan regardless of depth.
+ */
+final class Keyset {
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 200;
+
+    private Keyset() {
+    }
+
+    static int limit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    // "name" sorts ascending, "-name" descending; "id" maps to _id
+    static String sortField(String sort, Set<String> allowed, String fallback) {
+        String field = sort == null || sort.isBlank() ? fallback : sort.startsWith("-") ? sort.substring(1) : sort;
+        if (!allowed.contains(field)) {
+            throw new IllegalArgumentException("Unsupported sort: " + field);
+        }
+        return "id".equals(field) ? "_id" : field;
+    }
+
+    static boolean descending(String sort) {
+        return sort != null && sort.startsWith("-");
+    }
+
+    // Case-sensitive anchored prefix, so the regex can use an index range
+    static Criteria prefix(String field, String text) {
+        return Criteria.where(field).regex("^" + Pattern.quote(text));
+    }
+
+    // Fetches one extra row to know whether another page exists
+    static Query query(List<Criteria> filters, String sortField, boolean desc, String cursor, int limit) {
+        List<Criteria> all = new ArrayList<>(filters);
+        if (cursor != null && !cursor.isBlank()) {
+            all.add(after(decode(cursor, sortField, desc), sortField, desc));
+        }
+        Query query = all.isEmpty() ? new Query() : new Query(new Criteria().andOperator(all));
+        Sort.Direction direction = desc ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = "_id".equals(sortField) ? Sort.by(direction, "_id")
+                : Sort.by(direction, sortField).and(Sort.by(direction, "_id"));
+        return query.with(sort).limit(limit + 1);
+    }
+
+    static <E, T> CursorPage<T> page(List<E> rows, int limit, String sortField, boolean desc,
+            Function<E, Object> sortValue, Function<E, String> idOf, Function<List<E>, List<T>> mapper) {
+        String next = null;
+        List<E> pageRows = rows;
+        if (rows.size() > limit) {
+            pageRows = rows.subList(0, limit);
+            E last = pageRows.get(limit - 1);
+            next = encode(sortField, desc, "_id".equals(sortField) ? null : sortValue.apply(last), idOf.apply(last));
+        }
+        return new CursorPage<>(mapper.apply(pageRows), next);
+    }
+
+    // Rows strictly after (value, id) in sort order; Mongo orders nulls first ascending
+    private static Criteria after(Position p, String sortField, boolean desc) {
+        Criteria idAfter = desc ? Criteria.where("_id").lt(p.id) : Criteria.where("_id").gt(p.id);
+        if ("_id".equals(sortField)) {
+            return idAfter;
+        }
+        Criteria sameValue = new Criteria().andOperator(Criteria.where(sortField).is(p.value),
+                desc ? Criteria.where("_id").lt(p.id) : Criteria.where("_id").gt(p.id));
+        if (p.value == null) {
+            return desc ? sameValue : new Criteria().orOperator(sameValue, Criteria.where(sortField).ne(null));
+        }
+        Criteria beyond = desc ? Criteria.where(sortField).lt(p.value) : Criteria.where(sortField).gt(p.value);
+        return desc ? new Criteria().orOperator(beyond, sameValue, Criteria.where(sortField).is(null))
+                : new Criteria().orOperator(beyond, sameValue);
+    }
+
+    private static String encode(String sortField, boolean desc, Object value, String id) {
+        String type;
+        String text;
+        if (value == null) {
+            type = "n";
+            text = "";
+        } else if (value instanceof Number n) {
+            type = "d";
+            text = Double.toString(n.doubleValue());
+        } else if (value instanceof LocalDateTime t) {
+            type = "t";
+            text = t.toString();
+        } else {
+            type = "s";
+            text = value.toString();
+        }
+        String raw = sortField + "," + (desc ? "desc" : "asc") + "," + id + "," + type + "," + text;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decode(String cursor, String sortField, boolean desc) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",", 5);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 5 || !parts[0].equals(sortField) || !parts[1].equals(desc ? "desc" : "asc")) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        try {
+            Object value = switch (parts[3]) {
+                case "n" -> null;
+                case "d" -> Double.valueOf(parts[4]);
+                case "t" -> LocalDateTime.parse(parts[4]);
+                case "s" -> parts[4];
+                default -> throw new IllegalArgumentException("Invalid cursor");
+            };
+            return new Position(value, parts[2]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static final class Position {
+        final Object value;
+        final String id;
+
+        Position(Object value, String id) {
+            this.value = value;
+            this.id = id;
+        }
+    }
+}
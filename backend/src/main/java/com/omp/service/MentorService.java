@@ -46,6 +46,11 @@ public class MentorService {
                 .distinct()
                 .count();
 
+        return toDTO(mentor, coursesCount, studentsCount);
+    }
+
+    // Shared with the streaming reads in CatalogStreamService
+    static MentorDTO toDTO(Mentor mentor, long coursesCount, long studentsCount) {
         return MentorDTO.builder()
                 .id(mentor.getId())
                 .name("Mentor")
@@ -0,0 +1,84 @@
+package com.omp.service;
+
+import java.time.Duration;
+
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.omp.repository.CourseRepository;
+import com.omp.repository.ModuleRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cached module -> course map and per-course module counts, so the module
+ * completion path can validate and compute progress without reading modules.
+ * Counts come from the maintained {@code Course.moduleCount}; both maps are
+ * kept current by the admin module and course CRUD.
+ */
+@Service
+public class ModuleCourseCache implements MeterBinder {
+    private final LoadingCache<String, String> courseByModule;
+    private final LoadingCache<String, Long> moduleCountByCourse;
+
+    public ModuleCourseCache(ModuleRepository moduleRepository, CourseRepository courseRepository) {
+        // A module never moves between courses, so entries only leave on deletion
+        this.courseByModule = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .recordStats()
+                .build(id -> moduleRepository.findCourseRefById(id)
+                        .map(ModuleRepository.CourseRef::getCourseId)
+                        .orElse(null));
+        this.moduleCountByCourse = Caffeine.newBuilder()
+                .maximumSize(20_000)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .recordStats()
+                // Courses written before moduleCount existed fall back to counting until repaired
+                .build(courseId -> courseRepository.findModuleCountById(courseId)
+                        .map(CourseRepository.ModuleCountRef::getModuleCount)
+                        .map(Integer::longValue)
+                        .orElseGet(() -> moduleRepository.countByCourseId(courseId)));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, courseByModule, "modules.course");
+        CaffeineCacheMetrics.monitor(registry, moduleCountByCourse, "courses.moduleCount");
+    }
+
+    public String courseOf(String moduleId) {
+        String courseId = courseByModule.get(moduleId);
+        if (courseId == null) {
+            throw new IllegalArgumentException("Module not found");
+        }
+        return courseId;
+    }
+
+    public long moduleCount(String courseId) {
+        return moduleCountByCourse.get(courseId);
+    }
+
+    public void moduleCreated(String moduleId, String courseId, long moduleCount) {
+        courseByModule.put(moduleId, courseId);
+        moduleCountByCourse.put(courseId, moduleCount);
+    }
+
+    public void moduleDeleted(String moduleId, String courseId, long moduleCount) {
+        courseByModule.invalidate(moduleId);
+        if (courseId != null) {
+            moduleCountByCourse.put(courseId, moduleCount);
+        }
+    }
+
+    public void moduleCountChanged(String courseId) {
+        moduleCountByCourse.invalidate(courseId);
+    }
+
+    public void courseDeleted(String courseId) {
+        courseByModule.asMap().values().removeIf(courseId::equals);
+        moduleCountByCourse.invalidate(courseId);
+    }
+}
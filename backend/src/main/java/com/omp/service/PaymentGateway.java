@@ -0,0 +1,19 @@
+package com.omp.service;
+
+/**
+ * Read side of the payment provider used by reconciliation. Implemented by
+ * {@link RazorpayService}; {@link FakePaymentGateway} stands in locally.
+ */
+public interface PaymentGateway {
+
+    Order fetchOrder(String providerOrderId) throws Exception;
+
+    enum OrderStatus {
+        // Razorpay order states: created -> attempted -> paid
+        CREATED, ATTEMPTED, PAID, UNKNOWN
+    }
+
+    /** An order's state and, once it is paid, the provider payment that settled it. */
+    record Order(OrderStatus status, String capturedPaymentId) {
+    }
+}
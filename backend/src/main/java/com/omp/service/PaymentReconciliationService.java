@@ -0,0 +1,208 @@
+package com.omp.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.omp.config.ReconciliationProperties;
+import com.omp.dto.ReconciliationReport;
+import com.omp.entity.Payment;
+import com.omp.entity.Payment.PaymentStatus;
+
+/**
+ * Sweeps stale PENDING Razorpay payments whose verify callback never
+ * arrived. Pages through them in (paymentDate, _id) order on the
+ * {status, paymentDate} index, asks the provider for each order's state
+ * with bounded concurrency, and applies the resulting transitions with one
+ * conditional bulk write per page. Payments made any other way are left
+ * alone.
+ */
+@Service
+public class PaymentReconciliationService implements DisposableBean {
+    private static final String RAZORPAY = "RAZORPAY";
+    private static final Logger logger = LoggerFactory.getLogger(PaymentReconciliationService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final PaymentGateway paymentGateway;
+    private final StudentService studentService;
+    private final ReconciliationProperties properties;
+    // Provider lookups; sized by payments.reconciliation.concurrency, idle threads time out between runs
+    private final ExecutorService pool;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public PaymentReconciliationService(MongoTemplate mongoTemplate, PaymentGateway paymentGateway,
+            StudentService studentService, ReconciliationProperties properties, ThreadFactory fanOutThreadFactory) {
+        this.mongoTemplate = mongoTemplate;
+        this.paymentGateway = paymentGateway;
+        this.studentService = studentService;
+        this.properties = properties;
+        int threads = Math.max(1, properties.getConcurrency());
+        // Virtual threads when enabled; the pool size still caps calls to the provider
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), fanOutThreadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        this.pool = executor;
+    }
+
+    @Scheduled(fixedDelayString = "${payments.reconciliation.interval-ms:600000}",
+            initialDelayString = "${payments.reconciliation.initial-delay-ms:60000}")
+    public void scheduledSweep() {
+        if (properties.isEnabled() && !running.get()) {
+            reconcile();
+        }
+    }
+
+    public ReconciliationReport reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Reconciliation is already running");
+        }
+        ReconciliationReport report = new ReconciliationReport();
+        long started = System.nanoTime();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime cutoff = now.minus(properties.getStaleAfter());
+            LocalDateTime abandonBefore = now.minus(properties.getAbandonAfter());
+
+            Payment last = null;
+            List<Payment> page;
+            do {
+                page = mongoTemplate.find(pageQuery(cutoff, last), Payment.class);
+                if (!page.isEmpty()) {
+                    applyPage(page, abandonBefore, report);
+                    last = page.get(page.size() - 1);
+                }
+            } while (page.size() == properties.getPageSize());
+        } finally {
+            running.set(false);
+        }
+
+        report.setElapsedMs(Duration.ofNanos(System.nanoTime() - started).toMillis());
+        report.setPaymentsPerSecond(report.getElapsedMs() == 0 ? report.getScanned()
+                : report.getScanned() * 1000.0 / report.getElapsedMs());
+        logger.info("Payment reconciliation: {}", report);
+        return report;
+    }
+
+    private Query pageQuery(LocalDateTime cutoff, Payment last) {
+        Criteria criteria = Criteria.where("status").is(PaymentStatus.PENDING).and("paymentMethod").is(RAZORPAY);
+        if (last == null) {
+            criteria = criteria.and("paymentDate").lt(cutoff);
+        } else {
+            // Keyset continuation after the last row of the previous page
+            criteria = criteria.andOperator(
+                    Criteria.where("paymentDate").lt(cutoff),
+                    new Criteria().orOperator(
+                            Criteria.where("paymentDate").gt(last.getPaymentDate()),
+                            Criteria.where("paymentDate").is(last.getPaymentDate()).and("_id").gt(last.getId())));
+        }
+        return Query.query(criteria)
+                .with(Sort.by(Sort.Order.asc("paymentDate"), Sort.Order.asc("_id")))
+                .limit(properties.getPageSize());
+    }
+
+    private void applyPage(List<Payment> page, LocalDateTime abandonBefore, ReconciliationReport report) {
+        List<Future<Transition>> lookups = new ArrayList<>(page.size());
+        for (Payment payment : page) {
+            lookups.add(pool.submit(() -> decide(payment, abandonBefore)));
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Payment.class);
+        List<Payment> paid = new ArrayList<>();
+        int transitions = 0;
+        for (int i = 0; i < page.size(); i++) {
+            Payment payment = page.get(i);
+            report.setScanned(report.getScanned() + 1);
+            Transition next;
+            try {
+                next = lookups.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Reconciliation interrupted", e);
+            } catch (Exception e) {
+                logger.warn("Order lookup failed for payment {}: {}", payment.getId(), e.getMessage());
+                report.setErrors(report.getErrors() + 1);
+                continue;
+            }
+            if (next == null) {
+                report.setUnchanged(report.getUnchanged() + 1);
+                continue;
+            }
+            // Conditional on PENDING so a concurrent verify/webhook completion always wins
+            Update update = new Update().set("status", next.status());
+            if (next.status() == PaymentStatus.COMPLETED) {
+                update.set("paymentDate", LocalDateTime.now());
+                // As the verify and webhook paths do; null only if the provider listed no captured payment
+                if (next.providerPaymentId() != null) {
+                    update.set("providerPaymentId", next.providerPaymentId());
+                }
+                paid.add(payment);
+                report.setCompleted(report.getCompleted() + 1);
+            } else if (next.status() == PaymentStatus.FAILED) {
+                report.setFailed(report.getFailed() + 1);
+            } else {
+                report.setCancelled(report.getCancelled() + 1);
+            }
+            bulk.updateOne(Query.query(Criteria.where("_id").is(payment.getId())
+                    .and("status").is(PaymentStatus.PENDING)), update);
+            transitions++;
+        }
+        if (transitions > 0) {
+            bulk.execute();
+        }
+
+        for (Payment payment : paid) {
+            try {
+                studentService.enroll(payment.getUserId(), payment.getCourseId());
+            } catch (Exception e) {
+                logger.warn("Enrollment after reconciliation failed for payment {}: {}", payment.getId(),
+                        e.getMessage());
+            }
+        }
+    }
+
+    // Returns the transition to apply, or null to leave the payment PENDING
+    private Transition decide(Payment payment, LocalDateTime abandonBefore) throws Exception {
+        boolean abandoned = payment.getPaymentDate().isBefore(abandonBefore);
+        if (payment.getProviderOrderId() == null) {
+            // The Razorpay order was never created: nothing to ask the provider about
+            return abandoned ? new Transition(PaymentStatus.CANCELLED, null) : null;
+        }
+        PaymentGateway.Order order = paymentGateway.fetchOrder(payment.getProviderOrderId());
+        PaymentStatus next = switch (order.status()) {
+            case PAID -> PaymentStatus.COMPLETED;
+            case ATTEMPTED -> abandoned ? PaymentStatus.FAILED : null;
+            case CREATED -> abandoned ? PaymentStatus.CANCELLED : null;
+            default -> null;
+        };
+        return next == null ? null : new Transition(next, order.capturedPaymentId());
+    }
+
+    private record Transition(PaymentStatus status, String providerPaymentId) {
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+}
@@ -1,10 +1,19 @@
 package com.omp.service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +34,8 @@ public class PaymentService {
     private final PaymentRepository paymentRepository;
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
+    private final MongoTemplate mongoTemplate;
+    private final CourseAccessService courseAccessService;
     // private final FileStorageService fileStorageService; // not used
 
     public PaymentDTO initiatePayment(String userId, String courseId, String paymentMethod) {
@@ -38,6 +49,13 @@ public class PaymentService {
             throw new IllegalArgumentException("Payment already completed for this course");
         }
 
+        // Reuse the open payment instead of inserting a new PENDING row per call
+        var open = paymentRepository.findFirstByUserIdAndCourseIdAndStatusOrderByPaymentDateDesc(userId, courseId,
+                PaymentStatus.PENDING);
+        if (open.isPresent()) {
+            return toPaymentDTO(open.get());
+        }
+
         Payment payment = Payment.builder()
                 .userId(user.getId())
                 .courseId(course.getId())
@@ -62,6 +80,7 @@ public class PaymentService {
         payment.setPaymentDate(LocalDateTime.now());
 
         Payment savedPayment = paymentRepository.save(payment);
+        courseAccessService.invalidate(savedPayment.getUserId());
         return toPaymentDTO(savedPayment);
     }
 
@@ -97,9 +116,67 @@ public class PaymentService {
 
         payment.setPaymentDate(LocalDateTime.now());
         Payment savedPayment = paymentRepository.save(payment);
+        courseAccessService.invalidate(userId);
         return toPaymentDTO(savedPayment);
     }
 
+    // Razorpay order paid: flip its payment to COMPLETED atomically; null when the order is unknown
+    public PaymentDTO completeByProviderOrder(String providerOrderId, String providerPaymentId) {
+        if (providerOrderId == null) {
+            return null;
+        }
+        Query query = Query.query(Criteria.where("providerOrderId").is(providerOrderId)
+                .and("status").ne(PaymentStatus.COMPLETED));
+        Payment updated = mongoTemplate.findAndModify(query, completedUpdate(providerPaymentId),
+                FindAndModifyOptions.options().returnNew(true), Payment.class);
+        if (updated != null) {
+            courseAccessService.invalidate(updated.getUserId());
+            return toPaymentDTO(updated);
+        }
+        return paymentRepository.findByProviderOrderId(providerOrderId).map(this::toPaymentDTO).orElse(null);
+    }
+
+    // Batch form used by the webhook consumer: one bulk write for all paid orders; keyed by order id
+    public Map<String, PaymentDTO> completeByProviderOrders(Map<String, String> paymentIdsByOrderId) {
+        if (paymentIdsByOrderId.isEmpty()) {
+            return Map.of();
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Payment.class);
+        paymentIdsByOrderId.forEach((orderId, providerPaymentId) -> bulk.updateOne(
+                Query.query(Criteria.where("providerOrderId").is(orderId)
+                        .and("status").ne(PaymentStatus.COMPLETED)),
+                completedUpdate(providerPaymentId)));
+        bulk.execute();
+        Map<String, PaymentDTO> payments = new LinkedHashMap<>();
+        for (Payment payment : paymentRepository.findByProviderOrderIdIn(paymentIdsByOrderId.keySet())) {
+            courseAccessService.invalidate(payment.getUserId());
+            payments.put(payment.getProviderOrderId(), toPaymentDTO(payment));
+        }
+        return payments;
+    }
+
+    // Only PENDING payments may fail; a late failure event never undoes a completed payment
+    public long failByProviderOrders(Collection<String> providerOrderIds) {
+        if (providerOrderIds.isEmpty()) {
+            return 0;
+        }
+        Query query = Query.query(Criteria.where("providerOrderId").in(providerOrderIds)
+                .and("status").is(PaymentStatus.PENDING));
+        // paymentDate stays the date the payment was initiated
+        return mongoTemplate.updateMulti(query, new Update().set("status", PaymentStatus.FAILED), Payment.class)
+                .getModifiedCount();
+    }
+
+    private Update completedUpdate(String providerPaymentId) {
+        Update update = new Update()
+                .set("status", PaymentStatus.COMPLETED)
+                .set("paymentDate", LocalDateTime.now());
+        if (providerPaymentId != null) {
+            update.set("providerPaymentId", providerPaymentId);
+        }
+        return update;
+    }
+
     public List<PaymentDTO> getUserPayments(String userId) {
         return paymentRepository.findByUserIdAndStatus(userId, PaymentStatus.COMPLETED)
                 .stream()
@@ -0,0 +1,86 @@
+package com.omp.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+
+/**
+ * Update pipelines that keep an enrollment's completedCount, percentComplete
+ * and completedAt consistent with its completedModules set. Each runs as a
+ * single atomic server-side update.
+ */
+final class ProgressUpdates {
+    // The $$REMOVE variable must reach the server unquoted; expr() would turn it into a literal string
+    private static final AggregationExpression REMOVE = ctx -> new Document("$ifNull",
+            Arrays.asList(null, "$$REMOVE"));
+
+    private ProgressUpdates() {
+    }
+
+    // $setUnion is the pipeline form of $addToSet
+    static AggregationUpdate addModule(String moduleId, long moduleCount) {
+        return withCounters(AggregationUpdate.update()
+                .set("completedModules").toValueOf(expr(new Document("$setUnion",
+                        List.of(completedModules(), List.of(moduleId))))), moduleCount);
+    }
+
+    // Several completions at once; completedAt is the client's time of the last one, when known
+    static AggregationUpdate addModules(Collection<String> moduleIds, long moduleCount, Date completedAt) {
+        return withCounters(AggregationUpdate.update()
+                .set("completedModules").toValueOf(expr(new Document("$setUnion",
+                        List.of(completedModules(), new ArrayList<>(moduleIds))))), moduleCount,
+                completedAt == null ? "$$NOW" : completedAt);
+    }
+
+    static AggregationUpdate removeModule(String moduleId, long moduleCount) {
+        return withCounters(AggregationUpdate.update()
+                .set("completedModules").toValueOf(expr(new Document("$setDifference",
+                        List.of(completedModules(), List.of(moduleId))))), moduleCount);
+    }
+
+    static AggregationUpdate recompute(long moduleCount) {
+        return withCounters(AggregationUpdate.update(), moduleCount);
+    }
+
+    // Repair: drop completions of modules that no longer exist, then recount
+    static AggregationUpdate retainModules(Collection<String> moduleIds) {
+        return withCounters(AggregationUpdate.update()
+                .set("completedModules").toValueOf(expr(new Document("$setIntersection",
+                        List.of(completedModules(), new ArrayList<>(moduleIds))))), moduleIds.size());
+    }
+
+    // Counters are always derived from the set, so they cannot drift from it
+    private static AggregationUpdate withCounters(AggregationUpdate update, long moduleCount) {
+        return withCounters(update, moduleCount, "$$NOW");
+    }
+
+    private static AggregationUpdate withCounters(AggregationUpdate update, long moduleCount, Object now) {
+        update.set("completedCount").toValueOf(expr(new Document("$size", completedModules())));
+        if (moduleCount <= 0) {
+            return update.set("percentComplete").toValue(0.0)
+                    .set("completedAt").toValueOf(REMOVE);
+        }
+        return update
+                .set("percentComplete").toValueOf(expr(new Document("$min", List.of(100.0,
+                        new Document("$multiply", List.of(
+                                new Document("$divide", List.of("$completedCount", moduleCount)), 100.0))))))
+                .set("completedAt").toValueOf(expr(new Document("$cond", List.of(
+                        new Document("$gte", List.of("$completedCount", moduleCount)),
+                        new Document("$ifNull", List.of("$completedAt", now)),
+                        "$$REMOVE"))));
+    }
+
+    private static Document completedModules() {
+        return new Document("$ifNull", List.of("$completedModules", List.of()));
+    }
+
+    private static AggregationExpression expr(Object value) {
+        return ctx -> value instanceof Document d ? d : new Document("$literal", value);
+    }
+}
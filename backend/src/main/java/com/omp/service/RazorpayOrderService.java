@@ -0,0 +1,176 @@
+package com.omp.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import com.omp.config.RazorpayProperties;
+import com.omp.entity.Course;
+import com.omp.entity.Payment;
+import com.omp.entity.Payment.PaymentStatus;
+import com.omp.repository.CourseRepository;
+import com.omp.repository.PaymentRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Creates Razorpay orders idempotently. A (user, course) pair owns at most one
+ * PENDING payment and its remote order is reused across retries; concurrent
+ * calls for the same pair share a single in-flight creation.
+ */
+@Service
+@RequiredArgsConstructor
+public class RazorpayOrderService {
+    private static final Logger logger = LoggerFactory.getLogger(RazorpayOrderService.class);
+    private static final String DEFAULT_CURRENCY = "INR";
+
+    private final PaymentRepository paymentRepository;
+    private final CourseRepository courseRepository;
+    private final RazorpayService razorpayService;
+    private final RazorpayProperties razorpayProperties;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Payment>> inFlight = new ConcurrentHashMap<>();
+
+    public Map<String, Object> openOrder(String userId, String courseId, long amountPaise, String currency,
+            String idempotencyKey) {
+        String cur = currency == null || currency.isBlank() ? DEFAULT_CURRENCY : currency;
+
+        // Replayed request: answer from the stored order without touching Razorpay
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            var replay = paymentRepository.findByIdempotencyKey(idempotencyKey);
+            if (replay.isPresent()) {
+                Payment p = replay.get();
+                if (!userId.equals(p.getUserId()) || !courseId.equals(p.getCourseId())) {
+                    throw new IllegalArgumentException("Idempotency key already used for a different request");
+                }
+                if (p.getProviderOrderId() != null) {
+                    return toOrderResponse(p);
+                }
+            }
+        }
+
+        String key = userId + ':' + courseId;
+        CompletableFuture<Payment> mine = new CompletableFuture<>();
+        CompletableFuture<Payment> existing = inFlight.putIfAbsent(key, mine);
+        if (existing == null) {
+            try {
+                mine.complete(findOrCreateOrder(userId, courseId, amountPaise, cur, idempotencyKey));
+            } catch (RuntimeException e) {
+                // Fails this call and every caller waiting on it
+                mine.completeExceptionally(e);
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+        return toOrderResponse(await(existing != null ? existing : mine));
+    }
+
+    private static Payment await(CompletableFuture<Payment> creation) {
+        try {
+            return creation.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    private Payment findOrCreateOrder(String userId, String courseId, long amountPaise, String currency,
+            String idempotencyKey) {
+        if (paymentRepository.existsByUserIdAndCourseIdAndStatus(userId, courseId, PaymentStatus.COMPLETED)) {
+            throw new IllegalArgumentException("Payment already completed for this course");
+        }
+
+        Payment payment = paymentRepository
+                .findFirstByUserIdAndCourseIdAndStatusOrderByPaymentDateDesc(userId, courseId, PaymentStatus.PENDING)
+                .orElse(null);
+
+        long paise = amountPaise;
+        if (paise <= 0) {
+            if (payment != null && payment.getAmount() != null) {
+                paise = Math.round(payment.getAmount() * 100);
+            } else {
+                Course course = courseRepository.findById(courseId)
+                        .orElseThrow(() -> new IllegalArgumentException("Course not found"));
+                paise = Math.round(course.getPrice() * 100);
+            }
+        }
+
+        // Open order with the same amount and currency: reuse it as-is
+        if (payment != null && payment.getProviderOrderId() != null
+                && Long.valueOf(paise).equals(payment.getAmountPaise())
+                && currency.equals(payment.getCurrency())) {
+            logger.debug("Reusing Razorpay order {} for payment {}", payment.getProviderOrderId(), payment.getId());
+            return payment;
+        }
+
+        if (payment == null) {
+            payment = insertPending(userId, courseId, paise, idempotencyKey);
+        }
+
+        String receipt = "rcpt_" + payment.getId();
+        Map<String, Object> order;
+        try {
+            order = razorpayService.createOrder(paise, currency, receipt, true);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create Razorpay order: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while creating Razorpay order", e);
+        }
+
+        payment.setProviderOrderId(String.valueOf(order.get("id")));
+        payment.setReceipt(receipt);
+        payment.setAmount(paise / 100.0);
+        payment.setAmountPaise(paise);
+        payment.setCurrency(currency);
+        payment.setPaymentMethod("RAZORPAY");
+        if (payment.getIdempotencyKey() == null && idempotencyKey != null && !idempotencyKey.isBlank()) {
+            payment.setIdempotencyKey(idempotencyKey);
+        }
+        return paymentRepository.save(payment);
+    }
+
+    private Payment insertPending(String userId, String courseId, long paise, String idempotencyKey) {
+        Payment payment = Payment.builder()
+                .userId(userId)
+                .courseId(courseId)
+                .amount(paise / 100.0)
+                .status(PaymentStatus.PENDING)
+                .paymentMethod("RAZORPAY")
+                .transactionId(UUID.randomUUID().toString())
+                .paymentDate(LocalDateTime.now())
+                .idempotencyKey(idempotencyKey == null || idempotencyKey.isBlank() ? null : idempotencyKey)
+                .build();
+        try {
+            return paymentRepository.insert(payment);
+        } catch (DuplicateKeyException e) {
+            // Another node won the race on the unique open-payment index; use its row
+            return paymentRepository
+                    .findFirstByUserIdAndCourseIdAndStatusOrderByPaymentDateDesc(userId, courseId,
+                            PaymentStatus.PENDING)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private Map<String, Object> toOrderResponse(Payment payment) {
+        Map<String, Object> order = new HashMap<>();
+        order.put("id", payment.getProviderOrderId());
+        order.put("entity", "order");
+        order.put("amount", payment.getAmountPaise());
+        order.put("currency", payment.getCurrency());
+        order.put("receipt", payment.getReceipt());
+        order.put("status", "created");
+        order.put("paymentId", payment.getId());
+        order.put("keyId", razorpayProperties.getKeyId());
+        return order;
+    }
+}
@@ -1,5 +1,6 @@
 package com.omp.service;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -9,30 +10,50 @@ import java.time.Duration;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
-
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omp.config.RazorpayProperties;
+import com.omp.security.HmacSignatureVerifier;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
-public class RazorpayService {
+public class RazorpayService implements PaymentGateway {
     private static final Logger log = LoggerFactory.getLogger(RazorpayService.class);
 
     private final RazorpayProperties properties;
+    private final MeterRegistry meterRegistry;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    // Checkout fails fast while Razorpay is down instead of waiting out the timeouts
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker("razorpay", 5, Duration.ofSeconds(30));
+
+    // Keyed once at startup; null when the corresponding secret is not configured
+    private HmacSignatureVerifier paymentVerifier;
+    private HmacSignatureVerifier webhookVerifier;
+
+    @PostConstruct
+    void initVerifiers() {
+        if (properties.getKeySecret() != null && !properties.getKeySecret().isEmpty()) {
+            paymentVerifier = new HmacSignatureVerifier(properties.getKeySecret());
+        }
+        if (properties.getWebhookSecret() != null && !properties.getWebhookSecret().isEmpty()) {
+            webhookVerifier = new HmacSignatureVerifier(properties.getWebhookSecret());
+        }
+    }
 
     public Map<String, Object> createOrder(long amountPaise, String currency, String receipt, boolean capture)
-            throws Exception {
+            throws IOException, InterruptedException {
         // Validate configuration first
         if (properties.getKeyId() == null || properties.getKeyId().isEmpty()) {
             log.error("Razorpay KEY_ID is not configured");
@@ -46,7 +67,7 @@ public class RazorpayService {
                     "Razorpay KEY_SECRET is not configured. Please set RAZORPAY_KEY_SECRET environment variable.");
         }
 
-        log.info("Razorpay configuration validated. KeyId prefix: {}",
+        log.debug("Razorpay configuration validated. KeyId prefix: {}",
                 properties.getKeyId().substring(0, Math.min(5, properties.getKeyId().length())));
 
         String url = "https://api.razorpay.com/v1/orders";
@@ -58,7 +79,7 @@ public class RazorpayService {
         payload.put("payment_capture", capture ? 1 : 0);
 
         String body = objectMapper.writeValueAsString(payload);
-        log.info("Razorpay payload: {}", body);
+        log.debug("Razorpay payload: {}", body);
 
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(url))
@@ -68,8 +89,7 @@ public class RazorpayService {
                 .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
                 .build();
 
-        HttpClient client = HttpClient.newHttpClient();
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = send("create_order", request);
 
         if (response.statusCode() < 200 || response.statusCode() >= 300) {
             log.error("Razorpay order create failed: status={}, body={}", response.statusCode(), response.body());
@@ -82,31 +102,94 @@ public class RazorpayService {
         return result;
     }
 
+    @Override
+    public Order fetchOrder(String providerOrderId) throws Exception {
+        String status = get("fetch_order", "/v1/orders/" + providerOrderId).path("status").asText("");
+        return switch (status) {
+            case "paid" -> new Order(OrderStatus.PAID, capturedPaymentId(providerOrderId));
+            case "attempted" -> new Order(OrderStatus.ATTEMPTED, null);
+            case "created" -> new Order(OrderStatus.CREATED, null);
+            default -> new Order(OrderStatus.UNKNOWN, null);
+        };
+    }
+
+    // The order itself does not name its payment; the captured one is among the order's payments
+    private String capturedPaymentId(String providerOrderId) throws Exception {
+        for (JsonNode payment : get("fetch_order_payments", "/v1/orders/" + providerOrderId + "/payments")
+                .path("items")) {
+            if ("captured".equals(payment.path("status").asText())) {
+                return payment.path("id").asText(null);
+            }
+        }
+        return null;
+    }
+
+    private JsonNode get(String operation, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("https://api.razorpay.com" + path))
+                .timeout(Duration.ofSeconds(15))
+                .header("Authorization", basicAuth(properties.getKeyId(), properties.getKeySecret()))
+                .GET()
+                .build();
+        HttpResponse<String> response = send(operation, request);
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            throw new IllegalStateException("Razorpay order lookup failed: status=" + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
     public boolean verifySignature(String orderId, String paymentId, String providedSignature) {
+        if (paymentVerifier == null) {
+            log.error("Razorpay KEY_SECRET is not configured; cannot verify signature");
+            return false;
+        }
+        // Razorpay sends signature in hex lowercase
+        return paymentVerifier.verify(orderId, paymentId, providedSignature);
+    }
+
+    public boolean isWebhookConfigured() {
+        return webhookVerifier != null;
+    }
+
+    // Razorpay signs the raw webhook body with the webhook secret (HMAC-SHA256, hex)
+    public boolean verifyWebhookSignature(byte[] body, String providedSignature) {
+        return webhookVerifier != null && webhookVerifier.verify(body, providedSignature);
+    }
+
+    // razorpay.requests{operation, outcome}: outcome is the status class, or "error" when no response came
+    // Timeouts and 5xx count against the circuit; a 4xx is an answer
+    private HttpResponse<String> send(String operation, HttpRequest request)
+            throws IOException, InterruptedException {
+        if (!circuitBreaker.tryAcquire()) {
+            meterRegistry.counter("razorpay.requests.rejected", "operation", operation).increment();
+            throw new IllegalStateException("Razorpay is unavailable, please try again shortly");
+        }
+        long started = System.nanoTime();
+        String outcome = "error";
         try {
-            String data = orderId + '|' + paymentId;
-            Mac mac = Mac.getInstance("HmacSHA256");
-            mac.init(new SecretKeySpec(properties.getKeySecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
-            byte[] hmac = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            String expected = bytesToHex(hmac);
-            // Razorpay sends signature in hex lowercase
-            return expected.equalsIgnoreCase(providedSignature);
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            outcome = response.statusCode() / 100 + "xx";
+            if (response.statusCode() >= 500) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            return response;
         } catch (Exception e) {
-            log.error("Error verifying Razorpay signature", e);
-            return false;
+            circuitBreaker.onFailure();
+            throw e;
+        } finally {
+            meterRegistry.timer("razorpay.requests", "operation", operation, "outcome", outcome)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
         }
     }
 
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
     private String basicAuth(String username, String password) {
         String token = username + ":" + password;
         return "Basic " + Base64.getEncoder().encodeToString(token.getBytes(StandardCharsets.UTF_8));
     }
-
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b));
-        }
-        return sb.toString();
-    }
 }
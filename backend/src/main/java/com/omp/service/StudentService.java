@@ -1,20 +1,38 @@
 package com.omp.service;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.omp.config.FanOut;
 import com.omp.dto.CourseDTO;
 import com.omp.dto.EnrollmentDTO;
 import com.omp.dto.ModuleDTO;
+import com.omp.dto.ProgressSyncRequest;
+import com.omp.dto.ProgressSyncResult;
 import com.omp.entity.Course;
 import com.omp.entity.Enrollment;
 import com.omp.entity.Module;
@@ -37,6 +55,11 @@ public class StudentService {
         private final CertificateService certificateService;
         private final PaymentService paymentService;
         private final FileStorageService fileStorageService;
+        private final CourseAccessService courseAccessService;
+        private final EnrollmentEntitlementService entitlementService;
+        private final ModuleCourseCache moduleCourseCache;
+        private final MongoTemplate mongoTemplate;
+        private final FanOut fanOut;
 
         // Enroll in a course
         @Transactional
@@ -62,9 +85,19 @@ public class StudentService {
                                 .userId(user.getId())
                                 .courseId(course.getId())
                                 .completedModules(new HashSet<>())
+                                .completedCount(0)
+                                .percentComplete(0.0)
                                 .certificateUrl(null)
                                 .build();
-                enrollmentRepository.save(enrollment);
+                try {
+                        enrollmentRepository.save(enrollment);
+                } catch (DuplicateKeyException e) {
+                        // Concurrent enroll won on the unique (userId, courseId) index
+                        enrollment = enrollmentRepository.findByUserIdAndCourseId(userId, courseId)
+                                        .orElseThrow(() -> e);
+                }
+                entitlementService.grant(userId, courseId);
+                courseAccessService.invalidate(userId);
                 return toEnrollmentDTO(enrollment);
         }
 
@@ -83,9 +116,8 @@ public class StudentService {
 
         // View modules for an enrolled course
         public List<ModuleDTO> getModulesForEnrolledCourse(String userId, String courseId) {
-                // Verify enrollment exists
-                enrollmentRepository.findByUserIdAndCourseId(userId, courseId)
-                                .orElseThrow(() -> new IllegalArgumentException("Not enrolled in this course"));
+                // Verify enrollment exists (in-memory for enrolled users)
+                entitlementService.requireEnrollment(userId, courseId);
 
                 // Get modules for specific course only
                 List<Module> modules = moduleRepository.findByCourseId(courseId);
@@ -94,6 +126,7 @@ public class StudentService {
 
         // Get modules with completion status for enrolled course
         public Map<String, Object> getModulesWithCompletionStatus(String userId, String courseId) {
+                // The enrollment is read anyway, so it doubles as the check
                 Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(userId, courseId)
                                 .orElseThrow(() -> new IllegalArgumentException("Not enrolled in this course"));
 
@@ -108,19 +141,94 @@ public class StudentService {
                 return result;
         }
 
-        // Mark module as complete
-        @Transactional
+        // Mark module as complete: one atomic server-side update that returns the new state
         public EnrollmentDTO markModuleComplete(String userId, String courseId, String moduleId) {
-                Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(userId, courseId)
-                                .orElseThrow(() -> new IllegalArgumentException("Not enrolled in this course"));
-                Module module = moduleRepository.findById(moduleId)
-                                .orElseThrow(() -> new IllegalArgumentException("Module not found"));
-                if (!module.getCourseId().equals(courseId)) {
+                entitlementService.requireEnrollment(userId, courseId);
+                if (!courseId.equals(moduleCourseCache.courseOf(moduleId))) {
                         throw new IllegalArgumentException("Module does not belong to this course");
                 }
-                enrollment.getCompletedModules().add(moduleId);
-                enrollmentRepository.save(enrollment);
-                return toEnrollmentDTO(enrollment);
+
+                AggregationUpdate update = ProgressUpdates.addModule(moduleId,
+                                moduleCourseCache.moduleCount(courseId));
+                Query query = Query.query(Criteria.where("userId").is(userId).and("courseId").is(courseId));
+                Enrollment enrollment = mongoTemplate.findAndModify(query, update,
+                                FindAndModifyOptions.options().returnNew(true), Enrollment.class);
+                if (enrollment == null) {
+                        throw new IllegalArgumentException("Not enrolled in this course");
+                }
+                courseAccessService.invalidate(userId);
+
+                EnrollmentDTO dto = toEnrollmentDTO(enrollment);
+                dto.setProgress(enrollment.getPercentComplete() / 100.0);
+                return dto;
+        }
+
+        // Offline sync: apply completions across courses in one bulk write and return the new progress
+        public ProgressSyncResult syncCompletions(String userId, List<ProgressSyncRequest.Completion> completions) {
+                List<ProgressSyncResult.Rejected> rejected = new ArrayList<>();
+                Map<String, Set<String>> modulesByCourse = new LinkedHashMap<>();
+                Map<String, LocalDateTime> latestByCourse = new HashMap<>();
+                LocalDateTime now = LocalDateTime.now();
+
+                // One query for the enrollments and one for the modules, however many completions arrive
+                Set<String> courseIds = new HashSet<>();
+                Set<String> moduleIds = new HashSet<>();
+                for (ProgressSyncRequest.Completion c : completions) {
+                        courseIds.add(c.getCourseId());
+                        moduleIds.add(c.getModuleId());
+                }
+                Set<String> enrolled = enrollmentRepository.findByUserIdAndCourseIdIn(userId, courseIds).stream()
+                                .map(Enrollment::getCourseId)
+                                .collect(Collectors.toSet());
+                Map<String, String> courseByModule = new HashMap<>();
+                moduleRepository.findAllById(moduleIds)
+                                .forEach(m -> courseByModule.put(m.getId(), m.getCourseId()));
+
+                for (ProgressSyncRequest.Completion c : completions) {
+                        String reason = null;
+                        if (!enrolled.contains(c.getCourseId())) {
+                                reason = "Not enrolled in this course";
+                        } else if (!courseByModule.containsKey(c.getModuleId())) {
+                                reason = "Module not found";
+                        } else if (!c.getCourseId().equals(courseByModule.get(c.getModuleId()))) {
+                                reason = "Module does not belong to this course";
+                        }
+                        if (reason != null) {
+                                rejected.add(new ProgressSyncResult.Rejected(c.getCourseId(), c.getModuleId(), reason));
+                                continue;
+                        }
+                        modulesByCourse.computeIfAbsent(c.getCourseId(), k -> new HashSet<>()).add(c.getModuleId());
+                        // Client clocks are not trusted beyond "now"
+                        LocalDateTime at = c.getCompletedAt() == null || c.getCompletedAt().isAfter(now) ? now
+                                        : c.getCompletedAt();
+                        latestByCourse.merge(c.getCourseId(), at, (a, b) -> a.isAfter(b) ? a : b);
+                }
+
+                if (modulesByCourse.isEmpty()) {
+                        return new ProgressSyncResult(List.of(), rejected);
+                }
+
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Enrollment.class);
+                modulesByCourse.forEach((courseId, completed) -> {
+                        Date completedAt = Date.from(latestByCourse.get(courseId).atZone(ZoneId.systemDefault())
+                                        .toInstant());
+                        bulk.updateOne(Query.query(Criteria.where("userId").is(userId).and("courseId").is(courseId)),
+                                        ProgressUpdates.addModules(completed, moduleCourseCache.moduleCount(courseId),
+                                                        completedAt));
+                });
+                bulk.execute();
+                courseAccessService.invalidate(userId);
+
+                List<EnrollmentDTO> enrollments = enrollmentRepository
+                                .findByUserIdAndCourseIdIn(userId, modulesByCourse.keySet()).stream()
+                                .map(e -> {
+                                        EnrollmentDTO dto = toEnrollmentDTO(e);
+                                        dto.setProgress(e.getPercentComplete() == null ? 0.0
+                                                        : e.getPercentComplete() / 100.0);
+                                        return dto;
+                                })
+                                .collect(Collectors.toList());
+                return new ProgressSyncResult(enrollments, rejected);
         }
 
         // Get progress for a course
@@ -128,14 +236,29 @@ public class StudentService {
                 Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(userId, courseId)
                                 .orElseThrow(() -> new IllegalArgumentException("Not enrolled in this course"));
 
-                // Use the repository method that gets modules for specific course
+                if (enrollment.getPercentComplete() != null) {
+                        return enrollment.getPercentComplete() / 100.0;
+                }
+                // Enrollment not yet touched by the counters: compute as before
                 long totalModules = moduleRepository.countByCourseId(courseId);
-
                 if (totalModules == 0)
                         return 0.0;
                 return (double) enrollment.getCompletedModules().size() / totalModules;
         }
 
+        // Completed when completedAt is set; enrollments without counters are checked by counting
+        private boolean isCourseCompleted(Enrollment enrollment) {
+                if (enrollment.getPercentComplete() != null) {
+                        logger.debug("Completed count: {}, completed at: {}", enrollment.getCompletedCount(),
+                                        enrollment.getCompletedAt());
+                        return enrollment.getCompletedAt() != null;
+                }
+                long totalModules = moduleRepository.countByCourseId(enrollment.getCourseId());
+                logger.debug("Total modules: {}, completed modules: {}", totalModules,
+                                enrollment.getCompletedModules().size());
+                return enrollment.getCompletedModules().size() >= totalModules;
+        }
+
         // Download certificate (generate actual certificate)
         @Transactional
         public String downloadCertificate(String userId, String courseId) {
@@ -144,13 +267,7 @@ public class StudentService {
                 Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(userId, courseId)
                                 .orElseThrow(() -> new IllegalArgumentException("Not enrolled in this course"));
 
-                // Use the repository method that gets modules for specific course
-                long totalModules = moduleRepository.countByCourseId(courseId);
-
-                logger.debug("Total modules: {}, completed modules: {}", totalModules,
-                                enrollment.getCompletedModules().size());
-
-                if (enrollment.getCompletedModules().size() < totalModules) {
+                if (!isCourseCompleted(enrollment)) {
                         throw new IllegalArgumentException("Course not completed");
                 }
 
@@ -181,23 +298,30 @@ public class StudentService {
         public byte[] getCertificateBytes(String userId, String courseId) {
                 logger.debug("Getting certificate bytes for user: {}, course: {}", userId, courseId);
 
-                Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(userId, courseId)
-                                .orElseThrow(() -> new IllegalArgumentException("Not enrolled in this course"));
-
-                // Use the repository method that gets modules for specific course
-                long totalModules = moduleRepository.countByCourseId(courseId);
+                // The three lookups are independent; checked in the original order once all are back
+                Optional<Enrollment> foundEnrollment;
+                Optional<User> foundUser;
+                Optional<Course> foundCourse;
+                try (FanOut.Scope scope = fanOut.open()) {
+                        Supplier<Optional<Enrollment>> enrollmentLookup = scope
+                                        .fork(() -> enrollmentRepository.findByUserIdAndCourseId(userId, courseId));
+                        Supplier<Optional<User>> userLookup = scope.fork(() -> userRepository.findById(userId));
+                        Supplier<Optional<Course>> courseLookup = scope.fork(() -> courseRepository.findById(courseId));
+                        scope.join();
+                        foundEnrollment = enrollmentLookup.get();
+                        foundUser = userLookup.get();
+                        foundCourse = courseLookup.get();
+                }
 
-                logger.debug("Total modules: {}, completed modules: {}", totalModules,
-                                enrollment.getCompletedModules().size());
+                Enrollment enrollment = foundEnrollment
+                                .orElseThrow(() -> new IllegalArgumentException("Not enrolled in this course"));
 
-                if (enrollment.getCompletedModules().size() < totalModules) {
+                if (!isCourseCompleted(enrollment)) {
                         throw new IllegalArgumentException("Course not completed");
                 }
 
-                User user = userRepository.findById(userId)
-                                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-                Course course = courseRepository.findById(courseId)
-                                .orElseThrow(() -> new IllegalArgumentException("Course not found"));
+                User user = foundUser.orElseThrow(() -> new IllegalArgumentException("User not found"));
+                Course course = foundCourse.orElseThrow(() -> new IllegalArgumentException("Course not found"));
 
                 logger.debug("Generating certificate bytes");
                 // Generate certificate bytes
@@ -211,6 +335,9 @@ public class StudentService {
                 dto.setUserId(e.getUserId());
                 dto.setCourseId(e.getCourseId());
                 dto.setCompletedModules(e.getCompletedModules());
+                dto.setCompletedCount(e.getCompletedCount());
+                dto.setPercentComplete(e.getPercentComplete());
+                dto.setCompletedAt(e.getCompletedAt());
                 dto.setCertificateUrl(e.getCertificateUrl());
                 return dto;
         }
@@ -2,6 +2,12 @@ package com.omp.service;
 
 import java.time.LocalDateTime;
 
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -22,6 +28,8 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final MongoTemplate mongoTemplate;
+    private final CatalogSearchService catalogSearchService;
 
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.findByEmail(request.getEmail()).isPresent()) {
@@ -34,7 +42,12 @@ public class UserService {
                 .role(request.getRole() == null ? Role.STUDENT : request.getRole())
                 .createdAt(LocalDateTime.now())
                 .build();
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DuplicateKeyException e) {
+            // Lost a race with a concurrent registration; the unique email index decides
+            throw new IllegalArgumentException("Email already exists");
+        }
         String token = jwtService.generateToken(user.getEmail(), user.getRole());
         String refreshToken = jwtService.generateRefreshToken(user.getEmail());
         return new AuthResponse(token, refreshToken, user.getName(), user.getEmail(), user.getRole());
@@ -73,6 +86,30 @@ public class UserService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
     }
 
+    // Sets only the non-null fields and returns the updated user
+    public User updateProfile(String userId, String name, String encodedPassword) {
+        Update update = new Update();
+        if (name != null) {
+            update.set("name", name);
+        }
+        if (encodedPassword != null) {
+            update.set("password", encodedPassword);
+        }
+        if (update.getUpdateObject().isEmpty()) {
+            return userRepository.findById(userId)
+                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        }
+        User user = mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(userId)), update,
+                FindAndModifyOptions.options().returnNew(true), User.class);
+        if (user == null) {
+            throw new IllegalArgumentException("User not found");
+        }
+        if (name != null) {
+            catalogSearchService.userRenamed(userId);
+        }
+        return user;
+    }
+
     public User save(User user) {
         return userRepository.save(user);
     }
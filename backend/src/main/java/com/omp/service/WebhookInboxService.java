@@ -0,0 +1,223 @@
+package com.omp.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.config.RazorpayProperties;
+import com.omp.dto.PaymentDTO;
+import com.omp.entity.WebhookEvent;
+import com.omp.entity.WebhookEvent.WebhookStatus;
+import com.omp.repository.WebhookEventRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Durable inbox for Razorpay webhooks. The endpoint only appends; a scheduled
+ * consumer claims events in batches and applies payments and enrollments.
+ * Event ids are the document ids, claims are atomic and every transition is
+ * conditional, so each event takes effect once even across retries and nodes.
+ */
+@Service
+@RequiredArgsConstructor
+public class WebhookInboxService {
+    private static final Logger logger = LoggerFactory.getLogger(WebhookInboxService.class);
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long CLAIM_TIMEOUT_MINUTES = 5;
+
+    private final WebhookEventRepository webhookEventRepository;
+    private final MongoTemplate mongoTemplate;
+    private final PaymentService paymentService;
+    private final StudentService studentService;
+    private final RazorpayProperties properties;
+    private final ObjectMapper objectMapper;
+
+    // Returns false when the event was already in the inbox (provider redelivery)
+    public boolean append(String eventId, String payload) {
+        if (eventId == null || eventId.isBlank()) {
+            throw new IllegalArgumentException("Missing event id");
+        }
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(payload);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Malformed webhook payload");
+        }
+        JsonNode payment = root.path("payload").path("payment").path("entity");
+        JsonNode order = root.path("payload").path("order").path("entity");
+        String orderId = payment.hasNonNull("order_id") ? payment.get("order_id").asText()
+                : order.path("id").asText(null);
+
+        WebhookEvent event = WebhookEvent.builder()
+                .id(eventId)
+                .eventType(root.path("event").asText(null))
+                .providerOrderId(orderId)
+                .providerPaymentId(payment.path("id").asText(null))
+                .payload(payload)
+                .status(WebhookStatus.RECEIVED)
+                .receivedAt(LocalDateTime.now())
+                .build();
+        try {
+            webhookEventRepository.insert(event);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${razorpay.webhookPollMs:2000}")
+    public void drain() {
+        requeueStaleClaims();
+        List<WebhookEvent> batch;
+        do {
+            batch = claimBatch();
+            if (!batch.isEmpty()) {
+                applyBatch(batch);
+            }
+        } while (batch.size() == properties.getWebhookBatchSize());
+    }
+
+    private List<WebhookEvent> claimBatch() {
+        List<WebhookEvent> candidates = webhookEventRepository.findByStatusOrderByReceivedAtAsc(
+                WebhookStatus.RECEIVED, PageRequest.of(0, properties.getWebhookBatchSize()));
+        List<WebhookEvent> claimed = new ArrayList<>(candidates.size());
+        for (WebhookEvent candidate : candidates) {
+            Query query = Query.query(Criteria.where("_id").is(candidate.getId())
+                    .and("status").is(WebhookStatus.RECEIVED));
+            Update update = new Update()
+                    .set("status", WebhookStatus.PROCESSING)
+                    .set("claimedAt", LocalDateTime.now())
+                    .inc("attempts", 1);
+            WebhookEvent won = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().returnNew(true), WebhookEvent.class);
+            if (won != null) {
+                claimed.add(won);
+            }
+        }
+        return claimed;
+    }
+
+    private void applyBatch(List<WebhookEvent> batch) {
+        Map<String, String> paid = new LinkedHashMap<>();
+        List<String> failed = new ArrayList<>();
+        Map<String, List<String>> paidEventIds = new LinkedHashMap<>();
+        List<String> failedEventIds = new ArrayList<>();
+        List<String> ignoredEventIds = new ArrayList<>();
+
+        for (WebhookEvent event : batch) {
+            String type = event.getEventType();
+            if (event.getProviderOrderId() == null) {
+                ignoredEventIds.add(event.getId());
+            } else if ("payment.captured".equals(type) || "order.paid".equals(type)) {
+                paid.putIfAbsent(event.getProviderOrderId(), event.getProviderPaymentId());
+                paidEventIds.computeIfAbsent(event.getProviderOrderId(), k -> new ArrayList<>()).add(event.getId());
+            } else if ("payment.failed".equals(type)) {
+                failed.add(event.getProviderOrderId());
+                failedEventIds.add(event.getId());
+            } else {
+                ignoredEventIds.add(event.getId());
+            }
+        }
+
+        applyPaid(paid, paidEventIds);
+
+        try {
+            paymentService.failByProviderOrders(failed);
+            markDone(failedEventIds, WebhookStatus.PROCESSED);
+        } catch (Exception e) {
+            logger.error("Failed to apply {} failed-payment webhook events: {}", failedEventIds.size(),
+                    e.getMessage(), e);
+            release(failedEventIds, e.getMessage());
+        }
+
+        markDone(ignoredEventIds, WebhookStatus.IGNORED);
+    }
+
+    // One bulk write for the payments, then each enrollment on its own: an order whose enrollment fails
+    // (say its course was deleted) is retried without holding back the rest of the batch
+    private void applyPaid(Map<String, String> paid, Map<String, List<String>> eventIdsByOrder) {
+        if (eventIdsByOrder.isEmpty()) {
+            return;
+        }
+        Map<String, PaymentDTO> completed;
+        try {
+            completed = paymentService.completeByProviderOrders(paid);
+        } catch (Exception e) {
+            List<String> all = eventIdsByOrder.values().stream().flatMap(List::stream).toList();
+            logger.error("Failed to apply {} paid webhook events: {}", all.size(), e.getMessage(), e);
+            release(all, e.getMessage());
+            return;
+        }
+
+        List<String> done = new ArrayList<>();
+        eventIdsByOrder.forEach((orderId, eventIds) -> {
+            PaymentDTO payment = completed.get(orderId);
+            try {
+                if (payment != null) {
+                    // enroll() returns the existing enrollment when one is present
+                    studentService.enroll(payment.getUserId(), payment.getCourseId());
+                }
+                done.addAll(eventIds);
+            } catch (Exception e) {
+                logger.error("Failed to enroll for paid order {}: {}", orderId, e.getMessage(), e);
+                release(eventIds, e.getMessage());
+            }
+        });
+        markDone(done, WebhookStatus.PROCESSED);
+    }
+
+    private void markDone(List<String> ids, WebhookStatus status) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Query query = Query.query(Criteria.where("_id").in(ids).and("status").is(WebhookStatus.PROCESSING));
+        Update update = new Update().set("status", status).set("processedAt", LocalDateTime.now());
+        mongoTemplate.updateMulti(query, update, WebhookEvent.class);
+    }
+
+    // Give the events back to the queue, or park them once they have used up their attempts
+    private void release(List<String> ids, String error) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Query retry = Query.query(Criteria.where("_id").in(ids).and("status").is(WebhookStatus.PROCESSING)
+                .and("attempts").lt(MAX_ATTEMPTS));
+        mongoTemplate.updateMulti(retry,
+                new Update().set("status", WebhookStatus.RECEIVED).set("lastError", error), WebhookEvent.class);
+        Query park = Query.query(Criteria.where("_id").in(ids).and("status").is(WebhookStatus.PROCESSING));
+        mongoTemplate.updateMulti(park,
+                new Update().set("status", WebhookStatus.FAILED).set("lastError", error), WebhookEvent.class);
+    }
+
+    // A node that died mid-batch leaves PROCESSING claims behind; every step is idempotent, so replay them.
+    // An event that keeps taking its consumer down is parked once it has used up its attempts.
+    private void requeueStaleClaims() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(CLAIM_TIMEOUT_MINUTES);
+        Query retry = Query.query(Criteria.where("status").is(WebhookStatus.PROCESSING).and("claimedAt").lt(cutoff)
+                .and("attempts").lt(MAX_ATTEMPTS));
+        mongoTemplate.updateMulti(retry, new Update().set("status", WebhookStatus.RECEIVED), WebhookEvent.class);
+        Query park = Query.query(Criteria.where("status").is(WebhookStatus.PROCESSING).and("claimedAt").lt(cutoff));
+        mongoTemplate.updateMulti(park, new Update().set("status", WebhookStatus.FAILED)
+                .set("lastError", "Claim expired after " + MAX_ATTEMPTS + " attempts"), WebhookEvent.class);
+    }
+
+    public long backlog() {
+        return webhookEventRepository.countByStatus(WebhookStatus.RECEIVED);
+    }
+}
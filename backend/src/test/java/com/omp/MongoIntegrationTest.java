@@ -0,0 +1,65 @@
+package com.omp;
+
+import java.net.InetSocketAddress;
+
+import org.junit.jupiter.api.Assumptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+
+/**
+ * Boots the application against a Mongo shared by every test class (the
+ * Spring context is cached across them too): {@code MONGO_TEST_URI} if set,
+ * else an embedded mongod, else, where that cannot be downloaded, an
+ * in-process wire server. The last one lacks some server features, such as
+ * pipeline updates; tests that need them call {@link #assumeRealMongo()}.
+ * Tests create their own documents and should not assume an empty database.
+ */
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=false",
+        "logging.level.com.omp.access=WARN"
+})
+public abstract class MongoIntegrationTest {
+    private static final Logger logger = LoggerFactory.getLogger(MongoIntegrationTest.class);
+    private static final String DATABASE = "omp-test";
+    private static boolean realMongo = true;
+    private static final String URI = start();
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> URI);
+    }
+
+    protected static void assumeRealMongo() {
+        Assumptions.assumeTrue(realMongo, "needs a real mongod (set MONGO_TEST_URI or allow the embedded download)");
+    }
+
+    private static String start() {
+        String configured = System.getenv("MONGO_TEST_URI");
+        if (configured != null && !configured.isBlank()) {
+            return configured.endsWith("/") ? configured + DATABASE : configured + "/" + DATABASE;
+        }
+        try {
+            TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance().start(Version.Main.V7_0);
+            Runtime.getRuntime().addShutdownHook(new Thread(mongod::close));
+            ServerAddress address = mongod.current().getServerAddress();
+            return "mongodb://" + address.getHost() + ":" + address.getPort() + "/" + DATABASE;
+        } catch (RuntimeException e) {
+            logger.warn("Embedded mongod unavailable ({}), using the in-process server; tests that need a real "
+                    + "mongod are skipped", e.getMessage());
+        }
+        realMongo = false;
+        InetSocketAddress address = new MongoServer(new MemoryBackend()).bind();
+        return "mongodb://" + address.getHostString() + ":" + address.getPort() + "/" + DATABASE;
+    }
+}
@@ -0,0 +1,63 @@
+package com.omp.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.omp.MongoIntegrationTest;
+import com.omp.repository.CourseRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@AutoConfigureMockMvc
+@Import(QueryBudgetFilterTest.BudgetedController.class)
+@TestPropertySource(properties = "mongo.query-budget.fail-on-exceed=true")
+class QueryBudgetFilterTest extends MongoIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void overBudgetRequestFails() throws Exception {
+        mockMvc.perform(get("/api/courses/budget-test/over"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(header().string("X-Mongo-Commands", "3"))
+                .andExpect(content().string(Matchers.startsWith(
+                        "Mongo query budget exceeded on GET /api/courses/budget-test/over: 3 commands (budget 1)")));
+    }
+
+    @Test
+    void withinBudgetRequestPasses() throws Exception {
+        mockMvc.perform(get("/api/courses/budget-test/within"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Mongo-Commands", "1"));
+    }
+
+    @RestController
+    @RequiredArgsConstructor
+    static class BudgetedController {
+        private final CourseRepository courseRepository;
+
+        @QueryBudget(commands = 1)
+        @GetMapping("/api/courses/budget-test/over")
+        long over() {
+            return courseRepository.count() + courseRepository.count() + courseRepository.count();
+        }
+
+        @QueryBudget(commands = 1)
+        @GetMapping("/api/courses/budget-test/within")
+        long within() {
+            return courseRepository.count();
+        }
+    }
+}
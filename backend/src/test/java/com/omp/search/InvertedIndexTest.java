@@ -0,0 +1,183 @@
+package com.omp.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class InvertedIndexTest {
+
+    @Test
+    void findsDocumentsByAnyOfTheirFields() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("c1", new InvertedIndex.Doc().add("Spring Boot in Practice", 3f).add("REST services", 1f));
+        index.put("c2", new InvertedIndex.Doc().add("Python Basics", 3f));
+
+        assertThat(ids(index.search("rest", 10))).containsExactly("c1");
+        assertThat(ids(index.search("python", 10))).containsExactly("c2");
+        assertThat(index.search("golang", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void ranksHeavierFieldsAndFullerMatchesFirst() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("title", new InvertedIndex.Doc().add("Kubernetes", 3f));
+        index.put("description", new InvertedIndex.Doc().add("Kubernetes", 1f));
+        index.put("both", new InvertedIndex.Doc().add("Kubernetes Helm", 1f));
+        index.put("other", new InvertedIndex.Doc().add("Docker", 1f));
+
+        assertThat(ids(index.search("kubernetes", 10))).containsExactly("title", "both", "description");
+        // Matching both query terms beats a heavier match on one of them
+        assertThat(ids(index.search("kubernetes helm", 10))).startsWith("both");
+    }
+
+    @Test
+    void honoursTheLimit() {
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 0; i < 10; i++) {
+            index.put("c" + i, new InvertedIndex.Doc().add("Java", i + 1f));
+        }
+        assertThat(ids(index.search("java", 3))).containsExactly("c9", "c8", "c7");
+        assertThat(index.search("java", 0)).isEmpty();
+    }
+
+    @Test
+    void expandsOnlyTheLastTermAsAPrefix() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("spring", new InvertedIndex.Doc().add("Spring Security", 1f));
+        index.put("java", new InvertedIndex.Doc().add("Java Streams", 1f));
+
+        assertThat(ids(index.search("secu", 10))).containsExactly("spring");
+        assertThat(ids(index.search("java spr", 10))).containsExactlyInAnyOrder("java", "spring");
+        // Not the last term: no prefix expansion, so only the exact match counts
+        assertThat(ids(index.search("spr java", 10))).containsExactly("java");
+    }
+
+    @Test
+    void exactMatchesRankAbovePrefixMatches() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("exact", new InvertedIndex.Doc().add("React", 1f));
+        index.put("prefix", new InvertedIndex.Doc().add("Reactive", 1f));
+
+        assertThat(ids(index.search("react", 10))).containsExactly("exact", "prefix");
+    }
+
+    @Test
+    void toleratesOneTypo() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("py", new InvertedIndex.Doc().add("Python", 1f));
+        index.put("js", new InvertedIndex.Doc().add("JavaScript", 1f));
+
+        assertThat(ids(index.search("pyhton", 10))).containsExactly("py"); // transposition
+        assertThat(ids(index.search("javascrpt", 10))).containsExactly("js"); // deletion
+        assertThat(ids(index.search("pythons", 10))).containsExactly("py"); // insertion
+        assertThat(ids(index.search("pithon", 10))).containsExactly("py"); // substitution
+        assertThat(index.search("pyhtno", 10)).isEmpty(); // two edits
+    }
+
+    @Test
+    void typosAreOnlyTriedWhenNothingMatches() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("typo", new InvertedIndex.Doc().add("Rusty", 1f));
+        index.put("exact", new InvertedIndex.Doc().add("Rust Basics", 1f));
+
+        // "rust" matches exactly, so the typo neighbourhood is not consulted at all
+        assertThat(ids(index.search("rust basics", 10))).containsExactly("exact");
+        assertThat(ids(index.search("rsut", 10))).containsExactly("exact");
+    }
+
+    @Test
+    void replacingADocumentDropsItsOldTerms() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("c1", new InvertedIndex.Doc().add("Angular", 1f));
+        index.put("c1", new InvertedIndex.Doc().add("Svelte", 1f));
+
+        assertThat(index.search("angular", 10)).isEmpty();
+        assertThat(index.search("angulr", 10)).isEmpty();
+        assertThat(ids(index.search("svelte", 10))).containsExactly("c1");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removedDocumentsAndTheirTermsAreGone() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("c1", new InvertedIndex.Doc().add("Haskell", 1f));
+        index.put("c2", new InvertedIndex.Doc().add("Scala", 1f));
+        index.remove("c1");
+        index.remove("missing");
+
+        assertThat(index.search("haskell", 10)).isEmpty();
+        assertThat(index.search("hask", 10)).isEmpty();
+        assertThat(index.search("haskel", 10)).isEmpty();
+        assertThat(ids(index.search("scala", 10))).containsExactly("c2");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void reusesOrdinalsOfRemovedDocuments() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("a", new InvertedIndex.Doc().add("Kotlin", 1f));
+        index.put("b", new InvertedIndex.Doc().add("Swift", 1f));
+        index.remove("a");
+        index.put("c", new InvertedIndex.Doc().add("Elixir Kotlin", 1f));
+
+        assertThat(ids(index.search("kotlin", 10))).containsExactly("c");
+        assertThat(ids(index.search("swift", 10))).containsExactly("b");
+        assertThat(ids(index.search("elixir", 10))).containsExactly("c");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void repeatedSearchesDoNotCarryScoresOver() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("c1", new InvertedIndex.Doc().add("Machine Learning", 2f));
+        index.put("c2", new InvertedIndex.Doc().add("Deep Learning", 1f));
+
+        List<InvertedIndex.Hit> first = index.search("learning", 10);
+        for (int i = 0; i < 50; i++) {
+            index.search("machine deep learning", 10);
+            index.search("deep", 10);
+        }
+        List<InvertedIndex.Hit> again = index.search("learning", 10);
+        assertThat(ids(again)).isEqualTo(ids(first));
+        for (int i = 0; i < first.size(); i++) {
+            assertThat(again.get(i).getScore()).isEqualTo(first.get(i).getScore());
+        }
+    }
+
+    @Test
+    void clearEmptiesTheIndex() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("c1", new InvertedIndex.Doc().add("Terraform", 1f));
+        index.clear();
+
+        assertThat(index.size()).isZero();
+        assertThat(index.search("terraform", 10)).isEmpty();
+        index.put("c2", new InvertedIndex.Doc().add("Terraform", 1f));
+        assertThat(ids(index.search("terraform", 10))).containsExactly("c2");
+    }
+
+    @Test
+    void tokenizesFoldedWordsWithoutStopwords() {
+        assertThat(InvertedIndex.tokenize("The Art of Café-Design, a 2nd look!"))
+                .containsExactly("art", "cafe", "design", "2nd", "look");
+        assertThat(InvertedIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void oneEditIncludesAdjacentTranspositions() {
+        assertThat(InvertedIndex.withinOneEdit("python", "python")).isTrue();
+        assertThat(InvertedIndex.withinOneEdit("python", "pyhton")).isTrue();
+        assertThat(InvertedIndex.withinOneEdit("python", "pytho")).isTrue();
+        assertThat(InvertedIndex.withinOneEdit("pytho", "python")).isTrue();
+        assertThat(InvertedIndex.withinOneEdit("python", "pithon")).isTrue();
+        assertThat(InvertedIndex.withinOneEdit("python", "ypthno")).isFalse();
+        assertThat(InvertedIndex.withinOneEdit("python", "pyth")).isFalse();
+    }
+
+    private static List<String> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::getId).toList();
+    }
+}
@@ -0,0 +1,162 @@
+package com.omp.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SuggesterTest {
+
+    @Test
+    void suggestsLabelsWithAWordStartingWithThePrefix() {
+        Suggester suggester = new Suggester();
+        suggester.put(course("c1", "Machine Learning Basics"));
+        suggester.put(course("c2", "Deep Learning"));
+        suggester.put(new Suggester.Suggestion("mentor", "m1", "Ada Lovelace", 1f));
+
+        assertThat(labels(suggester.suggest("learn", 10))).containsExactlyInAnyOrder("Machine Learning Basics",
+                "Deep Learning");
+        assertThat(labels(suggester.suggest("BAS", 10))).containsExactly("Machine Learning Basics");
+        assertThat(labels(suggester.suggest("love", 10))).containsExactly("Ada Lovelace");
+        assertThat(suggester.suggest("earn", 10)).isEmpty();
+        assertThat(suggester.suggest("  ", 10)).isEmpty();
+        assertThat(suggester.size()).isEqualTo(3);
+    }
+
+    @Test
+    void ranksByWeightThenByMatchingAnEarlierWord() {
+        Suggester suggester = new Suggester();
+        suggester.put(new Suggester.Suggestion("course", "light", "Java Streams", 0.5f));
+        suggester.put(new Suggester.Suggestion("course", "heavy", "Java Records", 2f));
+        suggester.put(new Suggester.Suggestion("course", "later", "Modern Java", 1f));
+        suggester.put(new Suggester.Suggestion("course", "first", "Java Modules", 1f));
+
+        // "later" matches on its second word, worth 0.8 of its weight
+        assertThat(ids(suggester.suggest("java", 10))).containsExactly("heavy", "first", "later", "light");
+        assertThat(ids(suggester.suggest("java", 2))).containsExactly("heavy", "first");
+    }
+
+    @Test
+    void aLabelMatchingOnSeveralWordsIsSuggestedOnce() {
+        Suggester suggester = new Suggester();
+        suggester.put(course("c1", "Data Data Data Engineering"));
+        suggester.put(course("c2", "Database Design"));
+
+        assertThat(ids(suggester.suggest("data", 10))).containsExactly("c1", "c2");
+        assertThat(ids(suggester.suggest("d", 1))).containsExactly("c1");
+    }
+
+    @Test
+    void replacingALabelDropsItsOldKeys() {
+        Suggester suggester = new Suggester();
+        suggester.put(course("c1", "Intro to Go"));
+        suggester.put(course("c2", "Go Concurrency"));
+        suggester.put(course("c1", "Rust for Gophers"));
+
+        assertThat(labels(suggester.suggest("intro", 10))).isEmpty();
+        assertThat(labels(suggester.suggest("rust", 10))).containsExactly("Rust for Gophers");
+        assertThat(ids(suggester.suggest("go", 10))).containsExactlyInAnyOrder("c1", "c2");
+        assertThat(suggester.size()).isEqualTo(2);
+    }
+
+    @Test
+    void removingALabelLeavesTheOthers() {
+        Suggester suggester = new Suggester();
+        suggester.put(course("c1", "Kotlin Basics"));
+        suggester.put(course("c2", "Kotlin Coroutines"));
+        suggester.put(new Suggester.Suggestion("mentor", "c1", "Kotlin Expert", 1f));
+        suggester.remove("course", "c1");
+        suggester.remove("course", "missing");
+
+        assertThat(labels(suggester.suggest("kotlin", 10))).containsExactlyInAnyOrder("Kotlin Coroutines",
+                "Kotlin Expert");
+        assertThat(suggester.suggest("basics", 10)).isEmpty();
+        assertThat(suggester.size()).isEqualTo(2);
+    }
+
+    @Test
+    void replaceAllSwapsTheWholeSet() {
+        Suggester suggester = new Suggester();
+        suggester.put(course("old", "Legacy Course"));
+        suggester.replaceAll(List.of(course("c1", "Fresh Start"), course("c2", "Fresh Ideas")));
+
+        assertThat(suggester.suggest("legacy", 10)).isEmpty();
+        assertThat(ids(suggester.suggest("fresh", 10))).containsExactlyInAnyOrder("c1", "c2");
+        assertThat(suggester.size()).isEqualTo(2);
+    }
+
+    // Incremental patches must leave the same ranking as a build from scratch, and as a plain scan
+    @Test
+    void patchedSnapshotsMatchAFullScan() {
+        Random random = new Random(42);
+        String[] words = { "java", "javascript", "spring", "data", "design", "deep", "learning", "lean", "go" };
+        Suggester patched = new Suggester();
+        List<Suggester.Suggestion> live = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            String id = "c" + random.nextInt(60);
+            live.removeIf(s -> s.getId().equals(id));
+            if (random.nextInt(5) == 0) {
+                patched.remove("course", id);
+                continue;
+            }
+            StringBuilder label = new StringBuilder();
+            for (int w = 1 + random.nextInt(4); w > 0; w--) {
+                label.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            Suggester.Suggestion suggestion = new Suggester.Suggestion("course", id, label.toString().trim(),
+                    1 + random.nextInt(4));
+            patched.put(suggestion);
+            live.add(suggestion);
+        }
+        Suggester rebuilt = new Suggester();
+        rebuilt.replaceAll(live);
+
+        for (String prefix : new String[] { "j", "java", "d", "de", "lea", "go", "s", "x" }) {
+            List<String> expected = scan(live, prefix, 5);
+            assertThat(scores(patched.suggest(prefix, 5), prefix)).as(prefix).isEqualTo(expected);
+            assertThat(scores(rebuilt.suggest(prefix, 5), prefix)).as(prefix).isEqualTo(expected);
+        }
+    }
+
+    // Best scores of the top labels by brute force: weight x 0.8 per word skipped to the first match
+    private static List<String> scan(List<Suggester.Suggestion> all, String prefix, int limit) {
+        return all.stream()
+                .filter(s -> score(s, prefix) > 0)
+                .sorted(Comparator.comparingDouble((Suggester.Suggestion s) -> score(s, prefix)).reversed())
+                .limit(limit)
+                .map(s -> String.valueOf(score(s, prefix)))
+                .toList();
+    }
+
+    private static List<String> scores(List<Suggester.Suggestion> suggestions, String prefix) {
+        return suggestions.stream().map(s -> String.valueOf(score(s, prefix))).toList();
+    }
+
+    private static float score(Suggester.Suggestion suggestion, String prefix) {
+        String[] words = suggestion.getLabel().split(" ");
+        float score = suggestion.getWeight();
+        for (String word : words) {
+            if (word.startsWith(prefix)) {
+                return score;
+            }
+            score *= 0.8f;
+        }
+        return 0;
+    }
+
+    private static Suggester.Suggestion course(String id, String title) {
+        return new Suggester.Suggestion("course", id, title, 1f);
+    }
+
+    private static List<String> ids(List<Suggester.Suggestion> suggestions) {
+        return suggestions.stream().map(Suggester.Suggestion::getId).toList();
+    }
+
+    private static List<String> labels(List<Suggester.Suggestion> suggestions) {
+        return suggestions.stream().map(Suggester.Suggestion::getLabel).toList();
+    }
+}
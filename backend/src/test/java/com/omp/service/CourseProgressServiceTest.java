@@ -0,0 +1,74 @@
+package com.omp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.omp.MongoIntegrationTest;
+import com.omp.entity.Course;
+import com.omp.entity.Enrollment;
+import com.omp.entity.Module;
+import com.omp.repository.CourseRepository;
+import com.omp.repository.EnrollmentRepository;
+import com.omp.repository.ModuleRepository;
+
+// The progress counters are maintained with pipeline updates, which need a real mongod
+class CourseProgressServiceTest extends MongoIntegrationTest {
+    @Autowired
+    private AdminService adminService;
+    @Autowired
+    private CourseProgressService courseProgressService;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private ModuleRepository moduleRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @BeforeEach
+    void realMongo() {
+        assumeRealMongo();
+    }
+
+    @Test
+    void deletingTheLastModuleClearsCompletion() {
+        Course course = courseRepository.save(Course.builder().title("Last module").moduleCount(1).build());
+        Module module = moduleRepository.save(Module.builder().title("Only").courseId(course.getId()).build());
+        Enrollment enrollment = enrollmentRepository.save(completed(course, module));
+
+        adminService.deleteModule(module.getId());
+
+        Enrollment read = enrollmentRepository.findById(enrollment.getId()).orElseThrow();
+        assertThat(read.getCompletedModules()).isEmpty();
+        assertThat(read.getCompletedCount()).isZero();
+        assertThat(read.getPercentComplete()).isZero();
+        assertThat(read.getCompletedAt()).isNull();
+    }
+
+    @Test
+    void repairClearsCompletionOfCoursesWithoutModules() {
+        Course course = courseRepository.save(Course.builder().title("No modules").moduleCount(1).build());
+        Module gone = Module.builder().id("000000000000000000000001").courseId(course.getId()).build();
+        Enrollment enrollment = enrollmentRepository.save(completed(course, gone));
+
+        courseProgressService.repair();
+
+        Enrollment read = enrollmentRepository.findById(enrollment.getId()).orElseThrow();
+        assertThat(read.getCompletedCount()).isZero();
+        assertThat(read.getCompletedAt()).isNull();
+        assertThat(courseRepository.findById(course.getId()).orElseThrow().getModuleCount()).isZero();
+    }
+
+    private static Enrollment completed(Course course, Module module) {
+        Set<String> completedModules = new HashSet<>(Set.of(module.getId()));
+        return Enrollment.builder().userId("student-" + course.getId()).courseId(course.getId())
+                .completedModules(completedModules).completedCount(1).percentComplete(100.0)
+                .completedAt(LocalDateTime.now()).build();
+    }
+}
@@ -0,0 +1,188 @@
+package com.omp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+
+// Renders the pipelines, and runs them on a document with a small evaluator for the operators they use,
+// so the counters are checked without a server (CourseProgressServiceTest needs a real mongod)
+class ProgressUpdatesTest {
+    private static final Date NOW = new Date();
+    private static final Object REMOVE = new Object();
+
+    @Test
+    void courseWithoutModulesRemovesCompletedAt() {
+        for (AggregationUpdate update : List.of(ProgressUpdates.retainModules(List.of()),
+                ProgressUpdates.removeModule("m1", 0), ProgressUpdates.recompute(0),
+                ProgressUpdates.addModules(List.of("m1"), 0, new Date()))) {
+            String pipeline = render(update);
+            assertThat(pipeline).contains("$$REMOVE").doesNotContain("$literal");
+        }
+    }
+
+    @Test
+    void completedAtIsSetOnlyWhenAllModulesAreDone() {
+        String pipeline = render(ProgressUpdates.addModule("m1", 3));
+        assertThat(pipeline).contains("$cond", "$$NOW", "$$REMOVE").doesNotContain("$literal");
+    }
+
+    @Test
+    void addingAModuleUpdatesTheCounters() {
+        Document enrollment = apply(ProgressUpdates.addModule("m1", 3), new Document());
+        assertThat(enrollment.get("completedModules")).isEqualTo(List.of("m1"));
+        assertThat(enrollment.get("completedCount")).isEqualTo(1);
+        assertThat((double) enrollment.get("percentComplete")).isCloseTo(33.33, within(0.01));
+        assertThat(enrollment).doesNotContainKey("completedAt");
+    }
+
+    @Test
+    void addingAModuleTwiceCountsItOnce() {
+        Document enrollment = apply(ProgressUpdates.addModule("m1", 2), started("m1"));
+        assertThat(enrollment.get("completedCount")).isEqualTo(1);
+        assertThat((double) enrollment.get("percentComplete")).isEqualTo(50.0);
+    }
+
+    @Test
+    void theLastModuleCompletesTheCourseOnce() {
+        Document enrollment = apply(ProgressUpdates.addModule("m2", 2), started("m1"));
+        assertThat(enrollment.get("completedCount")).isEqualTo(2);
+        assertThat((double) enrollment.get("percentComplete")).isEqualTo(100.0);
+        assertThat(enrollment.get("completedAt")).isSameAs(NOW);
+
+        Date earlier = new Date(NOW.getTime() - 60_000);
+        enrollment.put("completedAt", earlier);
+        assertThat(apply(ProgressUpdates.recompute(2), enrollment).get("completedAt")).isSameAs(earlier);
+    }
+
+    @Test
+    void syncedCompletionsKeepTheClientTime() {
+        Date completedAt = new Date(NOW.getTime() - 3_600_000);
+        Document enrollment = apply(ProgressUpdates.addModules(List.of("m1", "m2"), 2, completedAt), new Document());
+        assertThat(enrollment.get("completedCount")).isEqualTo(2);
+        assertThat(enrollment.get("completedAt")).isSameAs(completedAt);
+    }
+
+    @Test
+    void removingAModuleReopensACompletedCourse() {
+        Document enrollment = started("m1", "m2");
+        enrollment.put("completedAt", NOW);
+        enrollment = apply(ProgressUpdates.removeModule("m2", 2), enrollment);
+        assertThat(enrollment.get("completedModules")).isEqualTo(List.of("m1"));
+        assertThat(enrollment.get("completedCount")).isEqualTo(1);
+        assertThat(enrollment).doesNotContainKey("completedAt");
+    }
+
+    @Test
+    void repairDropsCompletionsOfDeletedModules() {
+        Document enrollment = started("m1", "gone");
+        enrollment.put("completedAt", NOW);
+        enrollment = apply(ProgressUpdates.retainModules(List.of("m1", "m2")), enrollment);
+        assertThat(enrollment.get("completedModules")).isEqualTo(List.of("m1"));
+        assertThat(enrollment.get("completedCount")).isEqualTo(1);
+        assertThat((double) enrollment.get("percentComplete")).isEqualTo(50.0);
+        assertThat(enrollment).doesNotContainKey("completedAt");
+    }
+
+    @Test
+    void deletingTheLastModuleClearsCompletion() {
+        Document enrollment = started("m1");
+        enrollment.put("completedAt", NOW);
+        enrollment = apply(ProgressUpdates.retainModules(List.of()), enrollment);
+        assertThat(enrollment.get("completedModules")).isEqualTo(List.of());
+        assertThat(enrollment.get("completedCount")).isEqualTo(0);
+        assertThat((double) enrollment.get("percentComplete")).isZero();
+        assertThat(enrollment).doesNotContainKey("completedAt");
+    }
+
+    private static Document started(String... moduleIds) {
+        return new Document("completedModules", new ArrayList<>(List.of(moduleIds)))
+                .append("completedCount", moduleIds.length);
+    }
+
+    // Each stage is a $set whose expressions see the document as it was before the stage
+    private static Document apply(AggregationUpdate update, Document enrollment) {
+        Document doc = new Document(enrollment);
+        for (Document stage : update.toPipeline(Aggregation.DEFAULT_CONTEXT)) {
+            Document before = new Document(doc);
+            for (Map.Entry<String, Object> field : ((Document) stage.get("$set")).entrySet()) {
+                Object value = eval(field.getValue(), before);
+                if (value == REMOVE || value == null) {
+                    doc.remove(field.getKey());
+                } else {
+                    doc.put(field.getKey(), value);
+                }
+            }
+        }
+        return doc;
+    }
+
+    private static Object eval(Object expression, Document doc) {
+        if (expression instanceof String s) {
+            return switch (s) {
+                case "$$NOW" -> NOW;
+                case "$$REMOVE" -> REMOVE;
+                default -> s.startsWith("$") ? doc.get(s.substring(1)) : s;
+            };
+        }
+        if (expression instanceof List<?> list) {
+            return list.stream().map(e -> eval(e, doc)).toList();
+        }
+        if (!(expression instanceof Document d)) {
+            return expression;
+        }
+        assertThat(d).hasSize(1);
+        String op = d.keySet().iterator().next();
+        if (op.equals("$literal")) {
+            return d.get(op);
+        }
+        if (op.equals("$size")) {
+            return ((List<?>) eval(d.get(op), doc)).size();
+        }
+        List<?> args = (List<?>) eval(d.get(op), doc);
+        return switch (op) {
+            case "$ifNull" -> args.get(0) != null && args.get(0) != REMOVE ? args.get(0) : args.get(1);
+            case "$setUnion" -> {
+                Set<Object> union = new LinkedHashSet<>((Collection<?>) args.get(0));
+                union.addAll((Collection<?>) args.get(1));
+                yield new ArrayList<>(union);
+            }
+            case "$setIntersection" -> {
+                Set<Object> kept = new LinkedHashSet<>((Collection<?>) args.get(0));
+                kept.retainAll((Collection<?>) args.get(1));
+                yield new ArrayList<>(kept);
+            }
+            case "$setDifference" -> {
+                Set<Object> rest = new LinkedHashSet<>((Collection<?>) args.get(0));
+                rest.removeAll((Collection<?>) args.get(1));
+                yield new ArrayList<>(rest);
+            }
+            case "$min" -> Math.min(number(args.get(0)), number(args.get(1)));
+            case "$multiply" -> number(args.get(0)) * number(args.get(1));
+            case "$divide" -> number(args.get(0)) / number(args.get(1));
+            case "$gte" -> number(args.get(0)) >= number(args.get(1));
+            case "$cond" -> Boolean.TRUE.equals(args.get(0)) ? args.get(1) : args.get(2);
+            default -> throw new AssertionError("Operator not covered by the test evaluator: " + op);
+        };
+    }
+
+    private static double number(Object value) {
+        return ((Number) value).doubleValue();
+    }
+
+    private static String render(AggregationUpdate update) {
+        return update.toPipeline(Aggregation.DEFAULT_CONTEXT).stream().map(Document::toJson)
+                .reduce("", String::concat);
+    }
+}
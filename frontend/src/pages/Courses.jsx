@@ -4,7 +4,7 @@ import { useEffect, useState } from "react";
 import toast from "react-hot-toast";
 import { FaClock, FaGraduationCap, FaSearch, FaStar, FaUser, FaUsers } from "react-icons/fa";
 import { Link } from "react-router-dom";
-import { getCourses } from "../services/courseService";
+import { getCourses, searchCourses, suggestCatalog } from "../services/courseService";
 
 const mentorColors = [
   "bg-gradient-to-br from-blue-500 to-blue-600", 
@@ -46,6 +46,8 @@ const Courses = () => {
   const [error, setError] = useState(null);
   const [search, setSearch] = useState("");
   const [selectedCategory, setSelectedCategory] = useState("all");
+  const [searchHits, setSearchHits] = useState(null);
+  const [suggestions, setSuggestions] = useState([]);
 
   useEffect(() => {
     getCourses()
@@ -57,11 +59,36 @@ const Courses = () => {
       .finally(() => setLoading(false));
   }, []);
 
+  // Server-side ranked search; substring matching below stays as the fallback
+  useEffect(() => {
+    const q = search.trim();
+    if (!q) {
+      setSearchHits(null);
+      setSuggestions([]);
+      return;
+    }
+    let cancelled = false;
+    // Suggestions are answered from memory, so they go out on every keystroke
+    suggestCatalog(q)
+      .then(items => { if (!cancelled) setSuggestions(items); })
+      .catch(() => { if (!cancelled) setSuggestions([]); });
+    const timer = setTimeout(() => {
+      searchCourses(q)
+        .then(hits => { if (!cancelled) setSearchHits(hits); })
+        .catch(() => { if (!cancelled) setSearchHits(null); });
+    }, 250);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [search]);
+
   const categories = ["all", "web development", "mobile development", "data science", "design", "business"];
 
-  const filtered = courses.filter(
+  const filtered = (searchHits ?? courses).filter(
     (c) => {
-      const matchesSearch = (c.title || "").toLowerCase().includes(search.toLowerCase()) ||
+      const matchesSearch = searchHits !== null ||
+                           (c.title || "").toLowerCase().includes(search.toLowerCase()) ||
                            (c.mentorName || "").toLowerCase().includes(search.toLowerCase()) ||
                            (c.description || "").toLowerCase().includes(search.toLowerCase());
       const matchesCategory = selectedCategory === "all" || 
@@ -146,7 +173,13 @@ const Courses = () => {
                 className="w-full pl-12 pr-4 py-4 text-gray-800 bg-white rounded-2xl border-0 focus:outline-none focus:ring-4 focus:ring-blue-300 focus:ring-opacity-50 shadow-xl text-lg"
                 value={search}
                 onChange={e => setSearch(e.target.value)}
+                list="catalog-suggestions"
               />
+              <datalist id="catalog-suggestions">
+                {suggestions.map(s => (
+                  <option key={`${s.type}-${s.id}`} value={s.label} />
+                ))}
+              </datalist>
             </div>
           </motion.div>
         </div>
@@ -1,5 +1,5 @@
 import { motion } from 'framer-motion';
-import { useCallback, useEffect, useState } from 'react';
+import { useCallback, useEffect, useRef, useState } from 'react';
 import toast from 'react-hot-toast';
 import { FaCheckCircle, FaCreditCard, FaLock, FaShieldAlt, FaSpinner } from 'react-icons/fa';
 import { useNavigate, useParams } from 'react-router-dom';
@@ -14,6 +14,8 @@ const Payment = () => {
   const [loading, setLoading] = useState(true);
   const [processing, setProcessing] = useState(false);
   const [completed, setCompleted] = useState(false);
+  // One key per checkout page so retries reuse the same backend order
+  const idempotencyKey = useRef(crypto.randomUUID());
 
   const checkIfAlreadyPaid = useCallback(async () => {
     try {
@@ -94,6 +96,8 @@ const Payment = () => {
         courseId: id,
         amountPaise: Math.round(course.price * 100), // Convert to paise
         currency: 'INR'
+      }, {
+        headers: { 'Idempotency-Key': idempotencyKey.current }
       });
 
       console.log('Order response:', orderResponse.data);
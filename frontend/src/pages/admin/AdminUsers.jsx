@@ -2,7 +2,7 @@
 import React, { useEffect, useState } from "react";
 import toast from "react-hot-toast";
 import { FaEnvelope, FaUser, FaUserShield } from "react-icons/fa";
-import { createUser, deactivateUser, deleteUser, getUsers, reactivateUser, resetUserPassword, updateUser } from "../../services/adminService";
+import { createUser, deactivateUser, deleteUser, getUsersPage, reactivateUser, resetUserPassword, updateUser } from "../../services/adminService";
 
 const PAGE_SIZE = 5;
 const initialForm = { name: "", email: "", role: "STUDENT" };
@@ -13,20 +13,45 @@ const AdminUsers = () => {
   const [form, setForm] = useState(initialForm);
   const [editingId, setEditingId] = useState(null);
   const [search, setSearch] = useState("");
-  const [page, setPage] = useState(1);
+  // Server-side keyset pages: cursors[i] fetches page i, nextCursor is null on the last page
+  const [cursors, setCursors] = useState([null]);
+  const [page, setPage] = useState(0);
+  const [nextCursor, setNextCursor] = useState(null);
   const [error, setError] = useState("");
 
-  const fetchUsers = () => {
+  const loadPage = (index, cursor, q = search) => {
     setLoading(true);
-    getUsers()
-      .then(data => setUsers(data.filter(u => u.role !== 'ADMIN'))) // Filter out admins
+    getUsersPage({ limit: PAGE_SIZE, cursor: cursor || undefined, q: q.trim() || undefined })
+      .then(data => {
+        setUsers(data.items);
+        setNextCursor(data.nextCursor);
+        setPage(index);
+      })
       .catch(() => toast.error("Failed to load users"))
       .finally(() => setLoading(false));
   };
 
+  const fetchUsers = () => loadPage(page, cursors[page]);
+
+  // Admins are excluded by the server; search is a name/email prefix
   useEffect(() => {
-    fetchUsers();
-  }, []);
+    const t = setTimeout(() => {
+      setCursors([null]);
+      loadPage(0, null, search);
+    }, 300);
+    return () => clearTimeout(t);
+  }, [search]);
+
+  const goNext = () => {
+    if (!nextCursor) return;
+    setCursors(c => [...c.slice(0, page + 1), nextCursor]);
+    loadPage(page + 1, nextCursor);
+  };
+
+  const goPrev = () => {
+    if (page === 0) return;
+    loadPage(page - 1, cursors[page - 1]);
+  };
 
   const handleSubmit = async (e) => {
     e.preventDefault();
@@ -93,11 +118,6 @@ const AdminUsers = () => {
     }
   };
 
-  // Search and pagination
-  const filtered = users.filter(u => u.name.toLowerCase().includes(search.toLowerCase()) || u.email.toLowerCase().includes(search.toLowerCase()));
-  const totalPages = Math.ceil(filtered.length / PAGE_SIZE);
-  const paginated = filtered.slice((page - 1) * PAGE_SIZE, page * PAGE_SIZE);
-
   return (
     <div className="min-h-screen w-full bg-gray-900 flex flex-col items-center py-8 px-2">
       <div className="w-full max-w-4xl">
@@ -179,10 +199,10 @@ const AdminUsers = () => {
         <div className="mb-6 flex flex-wrap gap-2 items-center justify-between">
           <input
             type="text"
-            placeholder="Search by name or email"
+            placeholder="Search by name or email prefix"
             className="border border-gray-700 rounded-full px-5 py-2 w-full sm:w-80 focus:outline-none focus:ring-2 focus:ring-blue-400 bg-gray-800 text-gray-100 shadow-md"
             value={search}
-            onChange={e => { setSearch(e.target.value); setPage(1); }}
+            onChange={e => setSearch(e.target.value)}
           />
         </div>
         {loading ? (
@@ -199,7 +219,7 @@ const AdminUsers = () => {
                 </tr>
               </thead>
               <tbody>
-                {paginated.map((user) => (
+                {users.map((user) => (
                   <tr key={user.id} className="border-b border-gray-800 hover:bg-gray-900 transition">
                     <td className="py-2 px-4 text-gray-100">{user.name}</td>
                     <td className="py-2 px-4 text-gray-100">{user.email}</td>
@@ -219,15 +239,21 @@ const AdminUsers = () => {
               </tbody>
             </table>
             <div className="flex gap-2 p-4 justify-center">
-              {Array.from({ length: totalPages }, (_, i) => (
-                <button
-                  key={i}
-                  onClick={() => setPage(i + 1)}
-                  className={`px-3 py-1 rounded-full text-sm ${page === i + 1 ? "bg-blue-600 text-white" : "bg-gray-700 text-gray-300"}`}
-                >
-                  {i + 1}
-                </button>
-              ))}
+              <button
+                onClick={goPrev}
+                disabled={page === 0}
+                className="px-3 py-1 rounded-full text-sm bg-gray-700 text-gray-300 disabled:opacity-40"
+              >
+                Prev
+              </button>
+              <span className="px-3 py-1 rounded-full text-sm bg-blue-600 text-white">{page + 1}</span>
+              <button
+                onClick={goNext}
+                disabled={!nextCursor}
+                className="px-3 py-1 rounded-full text-sm bg-gray-700 text-gray-300 disabled:opacity-40"
+              >
+                Next
+              </button>
             </div>
           </div>
         )}
@@ -5,6 +5,11 @@ export async function getUsers() {
   const res = await api.get("/admin/users");
   return res.data;
 }
+// One keyset page: { items, nextCursor }. params: limit, cursor, q (name/email prefix), role, active, sort
+export async function getUsersPage(params) {
+  const res = await api.get("/admin/users", { params });
+  return res.data;
+}
 export async function createUser(data) {
   const res = await api.post("/admin/users", data);
   return res.data;
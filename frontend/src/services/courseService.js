@@ -6,6 +6,14 @@ export async function getCourses() {
   return res.data;
 }
 
+// Ranked full-text search over the catalog (typo and prefix tolerant)
+export const searchCourses = (q, limit = 50) =>
+  api.get("/courses/search", { params: { q, limit } }).then(res => res.data.map(hit => hit.course));
+
+// Typeahead suggestions ({type, id, label}) for course titles and mentor names
+export const suggestCatalog = (q, limit = 8) =>
+  api.get("/courses/suggest", { params: { q, limit } }).then(res => res.data);
+
 // Fetch course details by ID
 export const getCourseDetails = (id) => api.get(`/courses/${id}`).then(res => res.data);
 